@@ -0,0 +1,211 @@
+package codes.laivy.plugin;
+
+import codes.laivy.plugin.annotation.Plugin;
+import codes.laivy.plugin.initializer.PluginInitializer;
+import codes.laivy.plugin.processor.PluginProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The base of the {@code GeneratedPluginBootstrap_<hash>} classes generated by the {@link PluginProcessor}, one
+ * per compiled artifact.
+ * <p>
+ * A generated bootstrap declares every {@link Plugin} class of its artifact, already in dependency order, together
+ * with the annotation values needed to create its builder and, when the plugin constructor (or its static
+ * {@code initialize()} method) is accessible from the bootstrap, an {@link Instantiator} that calls it directly.
+ * The bootstraps are registered as {@link java.util.ServiceLoader services}: the plugin finder loads them and
+ * creates the plugins of their artifacts from the declared entries, without scanning the artifact, loading its
+ * classes by name, looking up the constructors nor ordering the plugins again.
+ * <p>
+ * A generated bootstrap looks like:
+ * <pre>{@code
+ * public final class GeneratedPluginBootstrap_5f3a9c1e extends PluginBootstrap {
+ *     public GeneratedPluginBootstrap_5f3a9c1e() {
+ *         plugin(Other.class, ConstructorPluginInitializer.class, null, null, new String[] {}, new Class<?>[] {}, () -> new Other());
+ *         plugin(MyPlugin.class, MethodPluginInitializer.class, "My Plugin", null, new String[] { "Utility" }, new Class<?>[] { Other.class }, () -> MyPlugin.initialize());
+ *     }
+ * }
+ * }</pre>
+ * This class isn't meant to be extended manually.
+ */
+public abstract class PluginBootstrap {
+
+    // Static initializers
+
+    /**
+     * The service file that lists the generated bootstrap of an artifact.
+     */
+    public static final @NotNull String LOCATION = "META-INF/services/codes.laivy.plugin.PluginBootstrap";
+
+    // The last entry declared for every plugin class, the cache doesn't prevent the classes from being unloaded
+    private static final @NotNull ClassValue<AtomicReference<Entry>> declared = new ClassValue<AtomicReference<Entry>>() {
+        @Override
+        protected @NotNull AtomicReference<Entry> computeValue(@NotNull Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * Retrieves the direct call declared by a generated bootstrap for the plugin class, used by the
+     * {@link PluginDescriptor} when it resolves the lifecycle handles.
+     *
+     * @param reference   the plugin class
+     * @param initializer the initializer type the call is used by
+     * @return the direct call, or null if no bootstrap declared one for the class and initializer
+     */
+    static @Nullable Instantiator getInstantiator(@NotNull Class<?> reference, @NotNull Class<? extends PluginInitializer> initializer) {
+        @Nullable Entry entry = declared.get(reference).get();
+        return entry != null && entry.getInitializer() == initializer ? entry.getInstantiator() : null;
+    }
+
+    // Object
+
+    private final @NotNull List<Entry> entries = new ArrayList<>();
+
+    protected PluginBootstrap() {
+    }
+
+    // Getters
+
+    /**
+     * @return the plugins of the artifact, in the order they should be started
+     */
+    public final @Unmodifiable @NotNull List<@NotNull Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    // Modules
+
+    /**
+     * Declares the next plugin of the artifact, the plugins are declared in dependency order.
+     *
+     * @param reference    the plugin class
+     * @param initializer  the plugin initializer type
+     * @param name         the plugin name, or null if it doesn't declare one
+     * @param description  the plugin description, or null if it doesn't declare one
+     * @param categories   the plugin category names
+     * @param dependencies the plugin dependency types
+     * @param instantiator the direct call to the plugin constructor (or static {@code initialize()} method), or null
+     *                     if it isn't accessible from the bootstrap and must be reflected
+     */
+    protected final void plugin(@NotNull Class<?> reference, @NotNull Class<?> initializer, @Nullable String name, @Nullable String description, @NotNull String @NotNull [] categories, @NotNull Class<?> @NotNull [] dependencies, @Nullable Instantiator instantiator) {
+        @NotNull Class<? extends PluginInitializer> type = initializer.asSubclass(PluginInitializer.class);
+        @NotNull Entry entry = new Entry(reference, type, name, description, Arrays.asList(categories), new LinkedHashSet<>(Arrays.asList(dependencies)), instantiator);
+
+        entries.add(entry);
+        declared.get(reference).set(entry);
+    }
+
+    /**
+     * Loads a class that isn't accessible from the bootstrap, so it cannot be referenced by a class literal.
+     *
+     * @param name the binary name of the class
+     * @return the class, loaded by the bootstrap class loader
+     * @throws IllegalStateException if the class doesn't exist anymore
+     */
+    protected final @NotNull Class<?> type(@NotNull String name) {
+        try {
+            return Class.forName(name, false, getClass().getClassLoader());
+        } catch (@NotNull ClassNotFoundException e) {
+            throw new IllegalStateException("cannot find the class '" + name + "' of the plugin bootstrap '" + getClass().getName() + "'", e);
+        }
+    }
+
+    // Implementations
+
+    @Override
+    public @NotNull String toString() {
+        return getClass().getName() + "{" +
+                "entries=" + entries +
+                '}';
+    }
+
+    // Classes
+
+    /**
+     * A direct call to the plugin constructor, or to its static {@code initialize()} method.
+     */
+    @FunctionalInterface
+    public interface Instantiator {
+
+        /**
+         * @return the created plugin instance, or the value returned by the {@code initialize()} method (null if void)
+         * @throws Throwable the failure of the constructor or method
+         */
+        @Nullable Object create() throws Throwable;
+
+    }
+
+    /**
+     * A plugin declared by a generated bootstrap.
+     */
+    public static final class Entry {
+
+        // Object
+
+        private final @NotNull Class<?> reference;
+        private final @NotNull Class<? extends PluginInitializer> initializer;
+
+        private final @Nullable String name;
+        private final @Nullable String description;
+
+        private final @NotNull List<String> categories;
+        private final @NotNull Set<Class<?>> dependencies;
+
+        private final @Nullable Instantiator instantiator;
+
+        private Entry(@NotNull Class<?> reference, @NotNull Class<? extends PluginInitializer> initializer, @Nullable String name, @Nullable String description, @NotNull List<String> categories, @NotNull Set<Class<?>> dependencies, @Nullable Instantiator instantiator) {
+            this.reference = reference;
+            this.initializer = initializer;
+            this.name = name;
+            this.description = description;
+            this.categories = Collections.unmodifiableList(categories);
+            this.dependencies = Collections.unmodifiableSet(dependencies);
+            this.instantiator = instantiator;
+        }
+
+        // Getters
+
+        public @NotNull Class<?> getReference() {
+            return reference;
+        }
+        public @NotNull Class<? extends PluginInitializer> getInitializer() {
+            return initializer;
+        }
+
+        public @Nullable String getName() {
+            return name;
+        }
+        public @Nullable String getDescription() {
+            return description;
+        }
+
+        public @Unmodifiable @NotNull List<String> getCategories() {
+            return categories;
+        }
+        public @Unmodifiable @NotNull Set<Class<?>> getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * @return the direct call to the plugin constructor (or static {@code initialize()} method), or null if it
+         * isn't accessible from the bootstrap and must be reflected
+         */
+        public @Nullable Instantiator getInstantiator() {
+            return instantiator;
+        }
+
+        // Implementations
+
+        @Override
+        public @NotNull String toString() {
+            return reference.getName();
+        }
+
+    }
+
+}
@@ -0,0 +1,348 @@
+package codes.laivy.plugin;
+
+import codes.laivy.plugin.annotation.*;
+import codes.laivy.plugin.initializer.ConstructorPluginInitializer;
+import codes.laivy.plugin.initializer.MethodPluginInitializer;
+import codes.laivy.plugin.initializer.PluginInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The annotation metadata of a class, read only once and shared by every code path that needs it.
+ * <p>
+ * A descriptor holds everything declared by the plugin annotations of the class: whether it's annotated with
+ * {@link Plugin}, its name and description, the {@link Category} names, the {@link Dependency} types, the
+ * {@link Priority}, the {@link Initializer} type, if it's {@link Lazy} and its {@link Timeout}s. The descriptors are cached per class
+ * using a {@link ClassValue}, so the annotations are reflected only at the first call to {@link #of(Class)}
+ * and the cache doesn't prevent the classes from being unloaded.
+ * <p>
+ * The descriptor also caches the method handles used by the built-in initializers to create and interrupt the
+ * plugins ({@link #getConstructor()}, {@link #getInitialize()} and {@link #getInterrupt()}), so restarting and
+ * reloading a plugin doesn't look up or reflect over its members again. When the plugin is declared by a generated
+ * {@link PluginBootstrap} loaded before the handles are resolved, those handles call the bootstrap
+ * {@link PluginBootstrap.Instantiator} instead, and the members aren't reflected at all.
+ * <p>
+ * Descriptors are immutable and thread-safe: the annotation metadata is read at creation, and every handle is
+ * resolved once and never replaced. Descriptors can also be retrieved for classes that aren't plugins,
+ * in that case {@link #isPlugin()} returns false and the name and description are null.
+ */
+public final class PluginDescriptor {
+
+    // Static initializers
+
+    private static final @NotNull ClassValue<PluginDescriptor> descriptors = new ClassValue<PluginDescriptor>() {
+        @Override
+        protected @NotNull PluginDescriptor computeValue(@NotNull Class<?> type) {
+            return new PluginDescriptor(type);
+        }
+    };
+
+    private static final @NotNull MethodHandle INSTANTIATE;
+
+    static {
+        try {
+            INSTANTIATE = MethodHandles.publicLookup().findVirtual(PluginBootstrap.Instantiator.class, "create", MethodType.methodType(Object.class));
+        } catch (@NotNull NoSuchMethodException | @NotNull IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Retrieves the cached descriptor of the class, reading its annotations if it's the first call for it.
+     *
+     * @param reference the class
+     * @return the descriptor of the class
+     */
+    public static @NotNull PluginDescriptor of(@NotNull Class<?> reference) {
+        return descriptors.get(reference);
+    }
+
+    // Object
+
+    private final @NotNull Class<?> reference;
+    private final boolean plugin;
+
+    private final @Nullable String name;
+    private final @Nullable String description;
+
+    private final @NotNull List<String> categories;
+    private final @NotNull Set<Class<?>> dependencies;
+
+    private final int priority;
+    private final @NotNull Class<? extends PluginInitializer> initializer;
+    private final boolean lazy;
+
+    private final @Nullable Duration startTimeout;
+    private final @Nullable Duration closeTimeout;
+
+    // Lifecycle handles, resolved at their first use
+    private volatile @Nullable MethodHandle constructor;
+    private volatile @Nullable MethodHandle initialize;
+    private volatile @Nullable Optional<MethodHandle> interrupt;
+
+    private PluginDescriptor(@NotNull Class<?> reference) {
+        this.reference = reference;
+
+        // Plugin
+        @Nullable Plugin plugin = reference.getAnnotation(Plugin.class);
+        this.plugin = plugin != null;
+
+        this.name = plugin != null && !plugin.name().isEmpty() ? plugin.name() : null;
+        this.description = plugin != null && !plugin.description().isEmpty() ? plugin.description() : null;
+
+        // Categories
+        @NotNull List<String> categories = new ArrayList<>();
+
+        for (@NotNull Category category : reference.getAnnotationsByType(Category.class)) {
+            categories.add(category.value());
+        }
+
+        this.categories = Collections.unmodifiableList(categories);
+
+        // Dependencies
+        @NotNull Set<Class<?>> dependencies = new LinkedHashSet<>();
+
+        for (@NotNull Dependency dependency : reference.getAnnotationsByType(Dependency.class)) {
+            dependencies.add(dependency.type());
+        }
+
+        this.dependencies = Collections.unmodifiableSet(dependencies);
+
+        // Priority, initializer and lazy
+        @Nullable Priority priority = reference.getAnnotation(Priority.class);
+        this.priority = priority != null ? priority.value() : 0;
+
+        @Nullable Initializer initializer = reference.getAnnotation(Initializer.class);
+        this.initializer = initializer != null ? initializer.type() : ConstructorPluginInitializer.class;
+
+        this.lazy = reference.isAnnotationPresent(Lazy.class);
+
+        // Timeouts
+        @Nullable Timeout timeout = reference.getAnnotation(Timeout.class);
+
+        this.startTimeout = timeout != null && timeout.start() > 0 ? Duration.ofNanos(timeout.unit().toNanos(timeout.start())) : null;
+        this.closeTimeout = timeout != null && timeout.close() > 0 ? Duration.ofNanos(timeout.unit().toNanos(timeout.close())) : null;
+    }
+
+    // Getters
+
+    /**
+     * @return the class this descriptor represents
+     */
+    public @NotNull Class<?> getReference() {
+        return reference;
+    }
+
+    /**
+     * @return true if the class is annotated with {@link Plugin}
+     */
+    public boolean isPlugin() {
+        return plugin;
+    }
+
+    /**
+     * @return the name declared at {@link Plugin#name()}, or null if it's empty or the class isn't a plugin
+     */
+    public @Nullable String getName() {
+        return name;
+    }
+
+    /**
+     * @return the description declared at {@link Plugin#description()}, or null if it's empty or the class isn't a plugin
+     */
+    public @Nullable String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the category names declared with {@link Category}, in declaration order
+     */
+    public @Unmodifiable @NotNull List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * @return the dependency types declared with {@link Dependency}, in declaration order
+     */
+    public @Unmodifiable @NotNull Set<Class<?>> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @return the priority declared with {@link Priority}, or 0 if the class isn't annotated with it
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the initializer declared with {@link Initializer}, or the {@link ConstructorPluginInitializer} by default
+     */
+    public @NotNull Class<? extends PluginInitializer> getInitializer() {
+        return initializer;
+    }
+
+    /**
+     * @return true if the class is annotated with {@link Lazy}
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * @return the start timeout declared with {@link Timeout#start()}, or null if the class doesn't declare one
+     */
+    public @Nullable Duration getStartTimeout() {
+        return startTimeout;
+    }
+
+    /**
+     * @return the close timeout declared with {@link Timeout#close()}, or null if the class doesn't declare one
+     */
+    public @Nullable Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    // Handles
+
+    /**
+     * Retrieves the handle of the declared empty constructor of the class, typed as {@code ()Object}. The
+     * constructor is looked up and made accessible only at the first call, unless a generated bootstrap declared a
+     * direct call to it.
+     *
+     * @return the constructor handle
+     * @throws NoSuchMethodException  if the class doesn't declare an empty constructor
+     * @throws IllegalAccessException if the constructor cannot be accessed
+     */
+    public @NotNull MethodHandle getConstructor() throws NoSuchMethodException, IllegalAccessException {
+        @Nullable MethodHandle handle = constructor;
+
+        if (handle == null) {
+            @Nullable PluginBootstrap.Instantiator instantiator = PluginBootstrap.getInstantiator(reference, ConstructorPluginInitializer.class);
+
+            if (instantiator != null) {
+                handle = INSTANTIATE.bindTo(instantiator);
+            } else {
+                @NotNull Constructor<?> constructor = reference.getDeclaredConstructor();
+                constructor.setAccessible(true);
+
+                handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            }
+
+            this.constructor = handle;
+        }
+
+        return handle;
+    }
+
+    /**
+     * Retrieves the handle of the static {@code initialize()} method declared by the class, typed as
+     * {@code ()Object} (a void method returns null). The method is looked up and made accessible only at the
+     * first call, unless a generated bootstrap declared a direct call to it.
+     *
+     * @return the initialize method handle
+     * @throws NoSuchMethodException  if the class doesn't declare an {@code initialize()} method
+     * @throws IllegalAccessException if the method cannot be accessed
+     * @throws IllegalStateException  if the method isn't static
+     */
+    public @NotNull MethodHandle getInitialize() throws NoSuchMethodException, IllegalAccessException {
+        @Nullable MethodHandle handle = initialize;
+
+        if (handle == null) {
+            @Nullable PluginBootstrap.Instantiator instantiator = PluginBootstrap.getInstantiator(reference, MethodPluginInitializer.class);
+
+            if (instantiator != null) {
+                handle = INSTANTIATE.bindTo(instantiator);
+            } else {
+                @NotNull Method method = reference.getDeclaredMethod("initialize");
+
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    throw new IllegalStateException("the plugin's initialize method must be static");
+                }
+
+                method.setAccessible(true);
+
+                handle = MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(Object.class));
+            }
+
+            this.initialize = handle;
+        }
+
+        return handle;
+    }
+
+    /**
+     * Retrieves the handle of the first static {@code interrupt} method declared by the class that has at most
+     * one parameter, typed as {@code (Object)void}. When the method has no parameters, the argument is ignored;
+     * otherwise it receives the plugin instance. The method is looked up only at the first call.
+     *
+     * @return the interrupt method handle, or null if the class doesn't declare one
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    public @Nullable MethodHandle getInterrupt() throws IllegalAccessException {
+        @Nullable Optional<MethodHandle> handle = interrupt;
+
+        if (handle == null) {
+            @Nullable MethodHandle resolved = null;
+
+            for (@NotNull Method method : reference.getDeclaredMethods()) {
+                if (!method.getName().equals("interrupt")) {
+                    continue;
+                } else if (!Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                } else if (method.getParameterCount() > 1) {
+                    continue;
+                }
+
+                method.setAccessible(true);
+                resolved = MethodHandles.lookup().unreflect(method);
+
+                if (method.getParameterCount() == 0) {
+                    resolved = MethodHandles.dropArguments(resolved, 0, Object.class);
+                }
+
+                resolved = resolved.asType(MethodType.methodType(void.class, Object.class));
+                break;
+            }
+
+            handle = Optional.ofNullable(resolved);
+            this.interrupt = handle;
+        }
+
+        return handle.orElse(null);
+    }
+
+    // Implementations
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) return true;
+        if (!(object instanceof PluginDescriptor)) return false;
+        @NotNull PluginDescriptor that = (PluginDescriptor) object;
+        return Objects.equals(getReference(), that.getReference());
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getReference());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "PluginDescriptor{" +
+                "reference=" + reference.getName() +
+                ", name='" + name + '\'' +
+                ", priority=" + priority +
+                '}';
+    }
+
+}
@@ -4,15 +4,19 @@ import codes.laivy.plugin.annotation.Priority;
 import codes.laivy.plugin.category.PluginCategory;
 import codes.laivy.plugin.exception.PluginInitializeException;
 import codes.laivy.plugin.exception.PluginInterruptException;
+import codes.laivy.plugin.factory.PluginFactory;
 import codes.laivy.plugin.factory.PluginFinder;
 import codes.laivy.plugin.factory.handlers.Handlers;
 import codes.laivy.plugin.factory.handlers.PluginHandler;
 import codes.laivy.plugin.initializer.PluginInitializer;
 import codes.laivy.plugin.main.Plugins;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents the core metadata and lifecycle management information for a plugin within the system.
@@ -136,6 +140,23 @@ public abstract class PluginInfo {
      */
     private final @NotNull Handlers handlers = Handlers.create();
 
+    /**
+     * The total time, in nanoseconds, spent dispatching the lifecycle events of this plugin to its handlers.
+     */
+    private final @NotNull LongAdder handling = new LongAdder();
+
+    /**
+     * The thread whose lifecycle operation was cancelled after exceeding its timeout. The state changes made by
+     * this thread are ignored.
+     */
+    private volatile @Nullable Thread cancelled;
+
+    /**
+     * The factory this plugin is registered at, the category changes are reported to it. It's null while the plugin
+     * isn't registered.
+     */
+    private volatile @Nullable PluginFactory factory;
+
     // Constructor
 
     /**
@@ -156,7 +177,10 @@ public abstract class PluginInfo {
         this.description = description;
         this.reference = reference;
         this.dependencies = new LinkedHashSet<>(Arrays.asList(dependencies));
-        this.categories = new HashSet<>(Arrays.asList(categories));
+        @NotNull Set<PluginCategory> shade = ConcurrentHashMap.newKeySet();
+        shade.addAll(Arrays.asList(categories));
+
+        this.categories = new Categories(shade);
         this.initializer = initializer;
         this.priority = priority;
     }
@@ -227,6 +251,10 @@ public abstract class PluginInfo {
         return state;
     }
     protected void setState(@NotNull State state) {
+        if (cancelled != null && cancelled == Thread.currentThread()) {
+            return;
+        }
+
         @NotNull State previous = this.state;
         this.state = state;
 
@@ -269,6 +297,11 @@ public abstract class PluginInfo {
 
     /**
      * Returns the set of category associated with the plugin.
+     * <p>
+     * Adding a category to this set runs the plugin handlers, the category itself and its handlers, and the global
+     * handlers of the factory the plugin is registered at, like when a plugin of the category is loaded. If any of
+     * them refuses the plugin, the category isn't added and {@code add} returns false. Every successful change is
+     * reported to that factory, so {@link PluginCategory#getPlugins()} stays up to date.
      *
      * @return A collection of category strings.
      */
@@ -317,6 +350,17 @@ public abstract class PluginInfo {
         return handlers;
     }
 
+    /**
+     * Returns the total time spent running the handlers of this plugin's lifecycle events (plugin-specific,
+     * category and global handlers), since the plugin was created. It's used by the plugin finders to split the
+     * handlers time from the plugin's own start time at the {@link codes.laivy.plugin.factory.StartupReport}.
+     *
+     * @return The total handlers time, in nanoseconds.
+     */
+    public final long getHandlingTime() {
+        return handling.sum();
+    }
+
     /**
      * Returns the instance of the plugin. This instance is created during initialization and may be null if the
      * initialization strategy does not produce an instance (for example, when using a static initializer).
@@ -369,6 +413,61 @@ public abstract class PluginInfo {
         setState(State.STOPPING);
     }
 
+    /**
+     * Cancels the lifecycle operation (start or close) of this plugin running at the given thread, usually because
+     * it exceeded its timeout.
+     * <p>
+     * The thread is interrupted and the plugin moves to the FAILED state. Any later state change made by that thread
+     * is ignored until the operation is {@link #release(Thread) released}, so an operation that eventually returns
+     * doesn't mark the plugin as running or idle.
+     *
+     * @param thread The thread running the lifecycle operation, or null if the operation didn't start yet.
+     */
+    public final void cancel(@Nullable Thread thread) {
+        if (thread != null) {
+            this.cancelled = thread;
+            thread.interrupt();
+        }
+
+        setState(State.FAILED);
+    }
+
+    /**
+     * Releases the thread of a {@link #cancel(Thread) cancelled} lifecycle operation after the operation returned,
+     * so the state changes made by that thread are applied again. It's called by the thread itself, that may be
+     * reused (e.g. by a pool) to run other operations of this plugin.
+     *
+     * @param thread The thread that was running the cancelled lifecycle operation.
+     */
+    @ApiStatus.Internal
+    public final void release(@NotNull Thread thread) {
+        if (cancelled == thread) {
+            cancelled = null;
+        }
+    }
+
+    /**
+     * Retrieves the factory this plugin is registered at, or the {@link Plugins#getFactory() global factory} if it
+     * isn't registered yet.
+     *
+     * @return The factory that owns this plugin.
+     */
+    public final @NotNull PluginFactory getFactory() {
+        @Nullable PluginFactory factory = this.factory;
+        return factory != null ? factory : Plugins.getFactory();
+    }
+
+    /**
+     * Sets the factory this plugin is registered at. It's called by the factory when the plugin is registered, and
+     * it shouldn't be called manually.
+     *
+     * @param factory The factory that owns this plugin.
+     */
+    @ApiStatus.Internal
+    public final void setFactory(@NotNull PluginFactory factory) {
+        this.factory = factory;
+    }
+
     // Equality and String Representation
 
     /**
@@ -474,6 +573,15 @@ public abstract class PluginInfo {
      * @param consumer A consumer that performs the action on each PluginHandler.
      */
     protected void handle(@NotNull String action, @NotNull ThrowingConsumer<PluginHandler> consumer) {
+        long start = System.nanoTime();
+
+        try {
+            dispatch(action, consumer);
+        } finally {
+            handling.add(System.nanoTime() - start);
+        }
+    }
+    private void dispatch(@NotNull String action, @NotNull ThrowingConsumer<PluginHandler> consumer) {
         // Invoke plugin-specific handlers.
         for (@NotNull PluginHandler handler : getHandlers()) {
             try {
@@ -764,7 +872,7 @@ public abstract class PluginInfo {
             }
 
             // Global handlers
-            for (@NotNull PluginHandler handler : Plugins.getFactory().getGlobalHandlers()) {
+            for (@NotNull PluginHandler handler : getFactory().getGlobalHandlers()) {
                 try {
                     if (!handler.accept(PluginInfo.this)) {
                         return false;
@@ -774,14 +882,62 @@ public abstract class PluginInfo {
                 }
             }
 
-            return shade.add(category);
+            if (!shade.add(category)) {
+                return false;
+            }
+
+            getFactory().categorize(PluginInfo.this, category, true);
+            return true;
+        }
+        @Override
+        public boolean remove(@Nullable Object object) {
+            if (!(object instanceof PluginCategory) || !shade.remove(object)) {
+                return false;
+            }
+
+            getFactory().categorize(PluginInfo.this, (PluginCategory) object, false);
+            return true;
+        }
+        @Override
+        public boolean contains(@Nullable Object object) {
+            return shade.contains(object);
         }
 
         // Iterators and size
 
         @Override
         public @NotNull Iterator<@NotNull PluginCategory> iterator() {
-            return shade.iterator();
+            @NotNull Iterator<PluginCategory> iterator = shade.iterator();
+
+            return new Iterator<PluginCategory>() {
+
+                // Object
+
+                private @Nullable PluginCategory current;
+
+                // Modules
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+                @Override
+                public @NotNull PluginCategory next() {
+                    return current = iterator.next();
+                }
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException("there's no category to remove");
+                    }
+
+                    iterator.remove();
+                    getFactory().categorize(PluginInfo.this, current, false);
+
+                    current = null;
+                }
+
+            };
         }
         @Override
         public int size() {
@@ -0,0 +1,35 @@
+package codes.laivy.plugin.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a plugin to be activated on demand instead of being started eagerly when loaded.
+ * <p>
+ * A lazy plugin is built and registered at the plugin factory like any other plugin, but it stays at the
+ * {@code IDLE} state after the load. It's started, together with its lazy dependencies, the first time its
+ * information or instance is requested through {@code Plugins#retrieve} or {@code PluginFactory#getInstance},
+ * or when a non-lazy plugin that depends on it starts.
+ * <p>
+ * Lazy plugins that are rarely used doesn't cost their startup time nor keep their instances at the heap
+ * until they're actually needed.
+ * <p>
+ * <strong>Usage Example:</strong>
+ * <pre>{@code
+ * Lazy
+ * Plugin(name = "Reports", description = "Generates the monthly reports")
+ * public class ReportsPlugin {
+ *     // Only constructed when retrieved for the first time
+ * }
+ * }</pre>
+ * <p>
+ * All the plugins of a finder can also be made lazy using {@code PluginFinder#setLazy(boolean)}.
+ *
+ * @see Plugin
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Lazy {
+}
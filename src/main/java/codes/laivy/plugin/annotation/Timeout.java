@@ -0,0 +1,50 @@
+package codes.laivy.plugin.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specifies the maximum time a plugin can take to start and to close.
+ * <p>
+ * When a plugin exceeds its start or close timeout, the thread running it is interrupted and the plugin moves to
+ * the {@code FAILED} state. Any later state change made by that thread is ignored, so a hung constructor that
+ * eventually returns doesn't mark the plugin as running. Whether the remaining load (or shutdown) continues or is
+ * aborted is defined by the {@code PluginFinder#setTimeoutPolicy} of the finder that loaded the plugin.
+ * <p>
+ * The timeouts declared here take precedence over the global ones of the finder ({@code PluginFinder#setStartTimeout}
+ * and {@code PluginFinder#setCloseTimeout}). A zero or negative value means the global timeout is used.
+ * <p>
+ * <strong>Usage Example:</strong>
+ * <pre>{@code
+ * Timeout(start = 5, close = 2, unit = TimeUnit.SECONDS)
+ * Plugin(name = "Database", description = "Connects to the database")
+ * public class DatabasePlugin {
+ *     // Fails if the connection takes more than 5 seconds
+ * }
+ * }</pre>
+ *
+ * @see Plugin
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Timeout {
+
+    /**
+     * @return the maximum time the plugin can take to start, zero or negative to use the finder's one
+     */
+    long start() default -1;
+
+    /**
+     * @return the maximum time the plugin can take to close, zero or negative to use the finder's one
+     */
+    long close() default -1;
+
+    /**
+     * @return the unit of the {@link #start()} and {@link #close()} values
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+}
@@ -1,8 +1,10 @@
 package codes.laivy.plugin.category;
 
 import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.factory.PluginFactory;
 import codes.laivy.plugin.factory.handlers.Handlers;
 import codes.laivy.plugin.main.Plugins;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -12,7 +14,6 @@ import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public abstract class AbstractPluginCategory implements PluginCategory, Closeable {
 
@@ -22,6 +23,8 @@ public abstract class AbstractPluginCategory implements PluginCategory, Closeabl
     private final @NotNull Handlers handlers = Handlers.create();
     private final @NotNull Collection<@NotNull PluginInfo> plugins = new CollectionImpl();
 
+    private volatile @Nullable PluginFactory factory;
+
     public AbstractPluginCategory(@NotNull String name) {
         this.name = name;
     }
@@ -41,6 +44,26 @@ public abstract class AbstractPluginCategory implements PluginCategory, Closeabl
         return plugins;
     }
 
+    /**
+     * @return the factory this category is registered at, or the {@link Plugins#getFactory() global factory} if it
+     * isn't registered yet
+     */
+    public final @NotNull PluginFactory getFactory() {
+        @Nullable PluginFactory factory = this.factory;
+        return factory != null ? factory : Plugins.getFactory();
+    }
+
+    /**
+     * Sets the factory this category is registered at, its members are retrieved from it. It's called by the
+     * factory when the category is registered, and it shouldn't be called manually.
+     *
+     * @param factory the factory that owns this category
+     */
+    @ApiStatus.Internal
+    public final void setFactory(@NotNull PluginFactory factory) {
+        this.factory = factory;
+    }
+
     // Modules
 
     @Override
@@ -83,21 +106,57 @@ public abstract class AbstractPluginCategory implements PluginCategory, Closeabl
             }
         }
 
+        @Override
+        public boolean contains(@Nullable Object object) {
+            return members().contains(object);
+        }
+
         // Modules
 
-        private @NotNull Collection<PluginInfo> collect() {
-            return Plugins.getFactory().stream().filter(plugin -> plugin.getCategories().contains(AbstractPluginCategory.this)).collect(Collectors.toSet());
+        /**
+         * @return the members of this category, indexed by the factory that owns it
+         */
+        private @NotNull Collection<PluginInfo> members() {
+            return getFactory().getPlugins(AbstractPluginCategory.this);
         }
 
         // Iterator and size
 
         @Override
         public @NotNull Iterator<@NotNull PluginInfo> iterator() {
-            return collect().iterator();
+            @NotNull Iterator<PluginInfo> iterator = members().iterator();
+
+            return new Iterator<PluginInfo>() {
+
+                // Object
+
+                private @Nullable PluginInfo current;
+
+                // Modules
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+                @Override
+                public @NotNull PluginInfo next() {
+                    return current = iterator.next();
+                }
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException("there's no plugin to remove");
+                    }
+
+                    current.getCategories().remove(AbstractPluginCategory.this);
+                    current = null;
+                }
+
+            };
         }
         @Override
         public int size() {
-            return collect().size();
+            return members().size();
         }
 
     }
@@ -85,7 +85,9 @@ public interface PluginCategory extends PluginHandler {
      * <p>
      * The returned collection directly affects the plugin's category association. If a plugin is removed from this
      * list, it will also be removed from the category list of the plugin itself, as defined in
-     * {@link PluginInfo#getCategories()}, maintaining relationship integrity and consistency.
+     * {@link PluginInfo#getCategories()}, maintaining relationship integrity and consistency. Adding a plugin to this
+     * list adds the category to the plugin, so it runs the plugin, category and global handlers, and it's refused if
+     * any of them refuses the plugin.
      *
      * @return a non-null collection of {@link PluginInfo} instances representing the plugins associated with this category.
      */
@@ -0,0 +1,53 @@
+package codes.laivy.plugin.factory;
+
+import codes.laivy.plugin.main.LifecycleExecutors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the asynchronous operations of the default {@link PluginFactory} and {@link PluginFinder} methods at the
+ * {@link LifecycleExecutors#getExecutor() lifecycle executor}.
+ */
+final class LifecycleTasks {
+
+    // Static initializers
+
+    /**
+     * Runs the task at the lifecycle executor, with the caller's context class loader. The returned future
+     * completes with the task result or exceptionally with the exception it throws.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the future of the task
+     */
+    public static <T> @NotNull CompletableFuture<T> async(@NotNull Callable<T> task) {
+        @NotNull CompletableFuture<T> future = new CompletableFuture<>();
+        @Nullable ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+        LifecycleExecutors.getExecutor().execute(() -> {
+            @NotNull Thread thread = Thread.currentThread();
+            @Nullable ClassLoader previous = thread.getContextClassLoader();
+
+            try {
+                thread.setContextClassLoader(loader);
+                future.complete(task.call());
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        });
+
+        return future;
+    }
+
+    // Object
+
+    private LifecycleTasks() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+}
@@ -6,12 +6,18 @@ import codes.laivy.plugin.exception.PluginInitializeException;
 import codes.laivy.plugin.exception.PluginInterruptException;
 import codes.laivy.plugin.factory.handlers.Handlers;
 import codes.laivy.plugin.factory.handlers.PluginHandler;
+import codes.laivy.plugin.initializer.PluginInitializer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -52,9 +58,12 @@ public interface PluginFactory extends Iterable<PluginInfo> {
      * Retrieves the {@link PluginInfo} associated with the specified plugin name.
      * <p>
      * This method is useful when the human-readable name of the plugin is known, and it returns the corresponding metadata.
+     * The plugins are indexed by name, so the lookup takes constant time. Plugin names are unique within a factory: a
+     * plugin whose name is already used by a plugin of another class is rejected when it's registered.
      *
      * @param name The name of the plugin. Must not be null.
      * @return A non-null {@link PluginInfo} instance corresponding to the provided plugin name.
+     * @throws IllegalArgumentException If there's no plugin registered with the given name.
      */
     @NotNull PluginInfo retrieve(@NotNull String name);
 
@@ -144,6 +153,71 @@ public interface PluginFactory extends Iterable<PluginInfo> {
      */
     void setCategory(@NotNull PluginCategory category);
 
+    /**
+     * Retrieves the registered plugins that belong to the category.
+     * <p>
+     * The default factory keeps the members of every category indexed, so this method returns a live view of the
+     * index: it reflects the plugins registered later and the changes made through {@link PluginInfo#getCategories()},
+     * and its {@code size()} and {@code contains()} don't go over all the plugins. The default implementation of
+     * this method, used by custom factories, returns a snapshot filtered from {@link #stream()} instead.
+     *
+     * @param category the category
+     * @return an unmodifiable collection of the plugins that belong to the category
+     */
+    default @UnmodifiableView @NotNull Collection<@NotNull PluginInfo> getPlugins(@NotNull PluginCategory category) {
+        return Collections.unmodifiableSet(stream().filter(plugin -> plugin.getCategories().contains(category)).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Notifies the factory that a plugin joined or left a category after it was created, so the category members
+     * are kept up to date. It's called by {@link PluginInfo#getCategories()} after the change is applied, and it
+     * shouldn't be called manually.
+     *
+     * @param plugin   the plugin
+     * @param category the category
+     * @param member   true if the plugin joined the category, false if it left it
+     */
+    @ApiStatus.Internal
+    default void categorize(@NotNull PluginInfo plugin, @NotNull PluginCategory category, boolean member) {
+    }
+
+    // Initializers
+
+    /**
+     * Retrieves the shared {@link PluginInitializer} instance of the given type.
+     * <p>
+     * Each initializer type is instantiated only once (using its empty declared constructor) at the first call,
+     * and the same instance is reused by every plugin and every load. Initializers registered with
+     * {@link #setInitializer(Class, PluginInitializer)} are returned as they are.
+     * <p>
+     * The default implementation, used by custom factories, returns an instance shared by every factory that
+     * doesn't override this method.
+     *
+     * @param type the initializer class; must not be null.
+     * @param <T>  the initializer type
+     * @return the shared initializer instance
+     * @throws RuntimeException if the initializer type cannot be instantiated
+     */
+    default <T extends PluginInitializer> @NotNull T getInitializer(@NotNull Class<T> type) {
+        return SharedInitializers.get(type);
+    }
+
+    /**
+     * Registers a prebuilt {@link PluginInitializer} instance, used for all the plugins that declare the given
+     * initializer type (e.g. with {@code @Initializer(type = ...)}). It replaces any previous instance of that type.
+     * <p>
+     * This allows initializers that have no empty constructor, or that need to be configured by the application.
+     * The default implementation, used by custom factories, doesn't support registering initializers.
+     *
+     * @param type        the initializer class; must not be null.
+     * @param initializer the initializer instance; must not be null.
+     * @param <T>         the initializer type
+     * @throws UnsupportedOperationException if the factory doesn't support registering initializers
+     */
+    default <T extends PluginInitializer> void setInitializer(@NotNull Class<T> type, @NotNull T initializer) {
+        throw new UnsupportedOperationException("this factory doesn't support registering plugin initializers");
+    }
+
     /**
      * Retrieves the instance of the plugin corresponding to the given class reference, if it exists.
      * <p>
@@ -310,6 +384,124 @@ public interface PluginFactory extends Iterable<PluginInfo> {
      */
     void interruptAll() throws PluginInterruptException;
 
+    // Asynchronous initialization and interruption
+
+    /**
+     * Asynchronously initializes plugins from the specified package using the provided ClassLoader.
+     * <p>
+     * The scan and the startup run at a lifecycle thread (a virtual thread on Java 21 or newer, a thread of the
+     * lifecycle pool otherwise), the returned future completes with the initialized plugins, or exceptionally with
+     * the {@link PluginInitializeException} or {@link IOException} thrown by
+     * {@link #initialize(ClassLoader, String, boolean)}. Use {@link #await(Class)} to wait only for specific plugins.
+     *
+     * @param loader    The ClassLoader used to load the plugins. Must not be null.
+     * @param packge    The package name to scan for plugins. Must not be null.
+     * @param recursive If true, plugins in sub-packages will also be initialized.
+     * @return A future completed with the initialized plugins.
+     */
+    default @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAsync(@NotNull ClassLoader loader, @NotNull String packge, boolean recursive) {
+        return LifecycleTasks.async(() -> initialize(loader, packge, recursive));
+    }
+
+    /**
+     * Asynchronously initializes plugins from the specified package using the current thread's context ClassLoader.
+     * The context ClassLoader of the calling thread is also used at the lifecycle thread.
+     *
+     * @param packge    The package name to scan for plugins. Must not be null.
+     * @param recursive If true, plugins in sub-packages will also be initialized.
+     * @return A future completed with the initialized plugins.
+     * @see #initializeAsync(ClassLoader, String, boolean)
+     */
+    default @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAsync(@NotNull String packge, boolean recursive) {
+        return LifecycleTasks.async(() -> initialize(packge, recursive));
+    }
+
+    /**
+     * Asynchronously initializes every plugin present at the accessible resources.
+     *
+     * @return A future completed with the initialized plugins.
+     * @see #initializeAll()
+     */
+    @ApiStatus.Experimental
+    default @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAllAsync() {
+        return LifecycleTasks.async(this::initializeAll);
+    }
+
+    /**
+     * Asynchronously interrupts the plugins loaded by the given ClassLoader within the specified package.
+     * <p>
+     * The returned future completes when all the plugins have been interrupted, or exceptionally with the
+     * {@link PluginInterruptException} thrown by {@link #interrupt(ClassLoader, String, boolean)}.
+     *
+     * @param loader    The ClassLoader that loaded the plugins. Must not be null.
+     * @param packge    The package name of the plugins. Must not be null.
+     * @param recursive If true, plugins in sub-packages will also be interrupted.
+     * @return A future completed when the plugins have been interrupted.
+     */
+    default @NotNull CompletableFuture<Void> interruptAsync(@NotNull ClassLoader loader, @NotNull String packge, boolean recursive) {
+        return LifecycleTasks.async(() -> {
+            interrupt(loader, packge, recursive);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously interrupts the plugins within the specified package using the current thread's context ClassLoader.
+     *
+     * @param packge    The package name of the plugins. Must not be null.
+     * @param recursive If true, plugins in sub-packages will also be interrupted.
+     * @return A future completed when the plugins have been interrupted.
+     * @see #interruptAsync(ClassLoader, String, boolean)
+     */
+    default @NotNull CompletableFuture<Void> interruptAsync(@NotNull String packge, boolean recursive) {
+        return interruptAsync(Thread.currentThread().getContextClassLoader(), packge, recursive);
+    }
+
+    /**
+     * Asynchronously interrupts all plugins in the system.
+     *
+     * @return A future completed when all the plugins have been interrupted.
+     * @see #interruptAll()
+     */
+    default @NotNull CompletableFuture<Void> interruptAllAsync() {
+        return LifecycleTasks.async(() -> {
+            interruptAll();
+            return null;
+        });
+    }
+
+    /**
+     * Returns a future that completes when the plugin of the given class reference has been started by a
+     * {@link PluginFinder} load (synchronous or not), allowing callers to wait only for the plugins they need.
+     * <p>
+     * If the plugin is already running, the returned future is already completed. If the plugin fails to start or
+     * its load skips it (refused by a handler, timed out with the {@link PluginFinder.TimeoutPolicy#CONTINUE}
+     * policy, or one of its dependencies was skipped), the future completes exceptionally with a
+     * {@link PluginInitializeException}; a future created after that failure fails immediately, until the plugin
+     * is loaded again. The future stays pending while the plugin isn't
+     * found by any load, like a class outside the scanned packages or rejected by the finder predicates, and while
+     * a lazy plugin isn't activated. Cancelling the future releases it.
+     * <p>
+     * The default implementation, used by custom factories, cannot observe the plugins being started: it returns a
+     * completed future if the plugin is already running, or a future completed exceptionally with an
+     * {@link UnsupportedOperationException} otherwise.
+     *
+     * @param reference The Class object representing the plugin. Must not be null.
+     * @return A future completed with the plugin once it's running.
+     */
+    default @NotNull CompletableFuture<@NotNull PluginInfo> await(@NotNull Class<?> reference) {
+        @NotNull CompletableFuture<PluginInfo> future = new CompletableFuture<>();
+        @NotNull Optional<PluginInfo> plugin = stream().filter(info -> info.getReference() == reference && info.getState() == PluginInfo.State.RUNNING).findFirst();
+
+        if (plugin.isPresent()) {
+            future.complete(plugin.get());
+        } else {
+            future.completeExceptionally(new UnsupportedOperationException("this factory cannot wait for the plugin '" + reference.getName() + "' to start"));
+        }
+
+        return future;
+    }
+
     /**
      * Returns a {@link PluginFinder} that can be used to search for plugins using custom criteria.
      * <p>
@@ -6,9 +6,15 @@ import codes.laivy.plugin.exception.PluginInitializeException;
 import codes.laivy.plugin.initializer.PluginInitializer;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Provides a fluent API for filtering and retrieving plugins based on a variety of criteria.
@@ -37,7 +43,9 @@ public interface PluginFinder {
     /**
      * Filters the search to include only plugins loaded by the specified class loaders.
      * <p>
-     * All the provided class loaders will be used in the search criteria.
+     * All the provided class loaders will be used in the search criteria. When there's at least one class loader,
+     * {@link #classes()} only scans the roots of the given loaders (their {@link java.net.URLClassLoader#getURLs() urls}
+     * and their own resources, excluding the parent ones) instead of the whole application classpath.
      *
      * @param loaders One or more ClassLoader objects to include.
      * @return This PluginFinder instance with the updated class loader filter.
@@ -294,6 +302,177 @@ public interface PluginFinder {
      */
     @NotNull PluginFinder setShutdownHook(boolean shutdownHook);
 
+    /**
+     * Sets the file used to persist the classes scan between runs. For every scanned jar, the cache
+     * stores its fingerprint (path, size and last modification time) and the plugin classes found at it,
+     * the next scans skip the jars that didn't change and only rescan the new or changed ones.
+     * <p>
+     * The cache is disabled by default. Directories are always scanned, since their fingerprint
+     * cannot be computed without walking through them.
+     *
+     * @param cache the cache file, or null to disable the cache
+     * @return This PluginFinder instance with the cache updated.
+     */
+    @NotNull PluginFinder setCache(@Nullable File cache);
+
+    /**
+     * Sets the file used to persist the classes scan between runs.
+     *
+     * @param cache    the cache file, or null to disable the cache
+     * @param checksum true if the CRC-32 of the jar contents should also be part of the fingerprint, it's slower
+     *                 but detects changes that keeps the jar size and modification time
+     * @return This PluginFinder instance with the cache updated.
+     * @see #setCache(File)
+     */
+    @NotNull PluginFinder setCache(@Nullable File cache, boolean checksum);
+
+    /**
+     * Sets the file used to record and replay the resolved load. After a load, the file stores every discovered plugin
+     * class in dependency order, with their initializer types, categories and dependencies, and a hash of the load
+     * inputs (the package scope, the class loaders, categories, initializers, names, descriptions and dependencies
+     * filters, and the fingerprint of every scanned jar and directory file).
+     * <p>
+     * While the hash matches, the next loads replay the plan: the roots aren't scanned, the plugins annotations
+     * aren't read and the dependencies aren't ordered again, the builders are created straight from the plan. When
+     * the hash doesn't match anymore (or a class of the plan cannot be loaded), the load runs normally and the plan
+     * is recorded again.
+     * <p>
+     * The plan is recorded before the predicate, the plugins already loaded and the category handlers filter the
+     * plugins, so a replay applies the ones of its own load, and a plan recorded by a load with another predicate
+     * never skips plugins. It isn't used by {@link #loadIncrementally()}, and it's disabled by default.
+     *
+     * @param plan the load plan file, or null to disable it
+     * @return This PluginFinder instance with the load plan updated.
+     */
+    @NotNull PluginFinder setLoadPlan(@Nullable File plan);
+
+    /**
+     * Sets the parallelism level of the classes scan. With a level greater than 1, every classpath root, every
+     * subdirectory and every range of entries of large jars is scanned as a fork-join task in a pool with
+     * that many threads. The pool is shared by all the scans with the same level, and it's the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} when the level matches its parallelism.
+     * <p>
+     * The default level is 1, that scans all the roots sequentially at the calling thread.
+     *
+     * @param parallelism the parallelism level, at least 1
+     * @return This PluginFinder instance with the parallelism updated.
+     * @throws IllegalArgumentException if the parallelism level is lower than 1
+     */
+    @NotNull PluginFinder setParallelism(int parallelism);
+
+    /**
+     * Marks if the jar files should be memory-mapped while scanning for classes. The mapped backend parses the
+     * jar central directory directly from the mapped file, skips the signature verification and reads the class
+     * bytes into reusable buffers, which avoids allocating for every class of large jars.
+     * <p>
+     * Each mapping is released as soon as its jar has been scanned. Jar files that cannot be mapped (e.g. zip64 jars),
+     * or all of them at runtimes where the mappings cannot be released, are read using the default backend. It's
+     * disabled by default.
+     *
+     * @param mapped true if the jar files should be memory-mapped
+     * @return This PluginFinder instance with the backend updated.
+     */
+    @NotNull PluginFinder setMemoryMapped(boolean mapped);
+
+    /**
+     * Sets the executor used to start the plugins concurrently at {@link #load(Predicate)}. With an executor,
+     * every plugin starts at it as soon as all of its dependencies are running, and the plugins that are ready
+     * at the same time are submitted by their priority order (lower first).
+     * <p>
+     * When a plugin fails to start, no other plugin is started and the load waits for the ones already
+     * starting. The first failure is thrown with the other ones as suppressed exceptions.
+     * <p>
+     * The default executor is null, that starts all the plugins sequentially at the calling thread.
+     *
+     * @param executor the executor used to start the plugins, or null to start them at the calling thread
+     * @return This PluginFinder instance with the executor updated.
+     */
+    @NotNull PluginFinder setExecutor(@Nullable Executor executor);
+
+    /**
+     * Marks if the plugins lifecycle work should run concurrently at the shared lifecycle executor. When enabled,
+     * the plugins are started as described at {@link #setExecutor(Executor)} (unless another executor was set),
+     * and the shutdown hook closes each plugin as soon as all of its dependants have been closed.
+     * <p>
+     * On Java 21 or newer the lifecycle executor runs every task at a virtual thread, so blocking plugin
+     * constructors doesn't hold platform threads. On older versions it's a fork-join pool of platform threads,
+     * sized to the available processors, that adds threads while lifecycle tasks wait for each other.
+     * It's disabled by default.
+     *
+     * @param concurrent true if the plugins should be started and closed concurrently
+     * @return This PluginFinder instance with the lifecycle mode updated.
+     */
+    @NotNull PluginFinder setConcurrent(boolean concurrent);
+
+    /**
+     * Marks if all the plugins of this finder should be activated on demand, as if they were annotated with
+     * {@link codes.laivy.plugin.annotation.Lazy}. The lazy plugins are registered at the {@code IDLE} state and
+     * only start, together with their dependencies, the first time they're retrieved.
+     * <p>
+     * Plugins annotated with {@code @Lazy} are always lazy. It's disabled by default.
+     *
+     * @param lazy true if the plugins should be activated on demand
+     * @return This PluginFinder instance with the activation mode updated.
+     */
+    @NotNull PluginFinder setLazy(boolean lazy);
+
+    /**
+     * Marks if the startup reports of this finder should also measure the bytes allocated by each plugin while
+     * it's created, built and started. It requires a HotSpot based JVM with the thread allocated memory
+     * measurement enabled, and has a small cost for every plugin. It's disabled by default.
+     *
+     * @param allocations true if the allocated bytes should be measured
+     * @return This PluginFinder instance with the allocation tracking updated.
+     * @see StartupReport.Timing#getAllocatedBytes()
+     */
+    @NotNull PluginFinder setAllocationTracking(boolean allocations);
+
+    /**
+     * Sets the maximum time each plugin loaded by this finder can take to start. When a plugin exceeds it, the
+     * thread starting it is interrupted, the plugin moves to the {@code FAILED} state and the load continues or
+     * is aborted according to the {@link #setTimeoutPolicy(TimeoutPolicy) timeout policy}.
+     * <p>
+     * Plugins annotated with {@link codes.laivy.plugin.annotation.Timeout} use their own timeout instead. A plugin
+     * with a timeout is started at the lifecycle executor (see {@link #setConcurrent(boolean)}), so the load never
+     * waits more than the timeout for it. The default timeout is null, the plugins can take any time to start.
+     *
+     * @param timeout the start timeout, or null to disable it
+     * @return This PluginFinder instance with the start timeout updated.
+     */
+    @NotNull PluginFinder setStartTimeout(@Nullable Duration timeout);
+
+    /**
+     * Sets the maximum time each plugin loaded by this finder can take to close at the shutdown hook. When a plugin
+     * exceeds it, the thread closing it is interrupted, the plugin moves to the {@code FAILED} state and the shutdown
+     * continues or is aborted according to the {@link #setTimeoutPolicy(TimeoutPolicy) timeout policy}, so a hung
+     * plugin cannot stall the JVM exit.
+     * <p>
+     * Plugins annotated with {@link codes.laivy.plugin.annotation.Timeout} use their own timeout instead. The
+     * default timeout is null, the plugins can take any time to close.
+     *
+     * @param timeout the close timeout, or null to disable it
+     * @return This PluginFinder instance with the close timeout updated.
+     */
+    @NotNull PluginFinder setCloseTimeout(@Nullable Duration timeout);
+
+    /**
+     * Sets what happens to the remaining load (or shutdown) when a plugin exceeds its start (or close) timeout.
+     * The default policy is {@link TimeoutPolicy#ABORT}.
+     *
+     * @param policy the timeout policy
+     * @return This PluginFinder instance with the timeout policy updated.
+     */
+    @NotNull PluginFinder setTimeoutPolicy(@NotNull TimeoutPolicy policy);
+
+    /**
+     * Retrieves the report with the time spent at each phase of the last load of this finder ({@link #load()},
+     * {@link #loadAsync()} or {@link #loadIncrementally()}). The report is available as soon as the load begins,
+     * and it's kept even if the load fails, so the slow or failing plugins can still be identified.
+     *
+     * @return the startup report of the last load, or null if this finder hasn't loaded yet
+     */
+    @Nullable StartupReport getStartupReport();
+
     /**
      * Determines whether a given {@link PluginInfo} matches the current filter criteria.
      *
@@ -322,12 +501,30 @@ public interface PluginFinder {
      * <p>
      * This method scans all classes (including unloaded ones) and analyzes their compatibility with the filter.
      * It may load classes that are not yet loaded if they match the criteria.
+     * <p>
+     * Classpath roots that contain a {@code META-INF/jplugin/index} file (generated at compile time by the
+     * {@code codes.laivy.plugin.processor.PluginProcessor} annotation processor) aren't scanned, only the
+     * classes listed at the index are read.
      *
      * @return An array of Class objects representing the matching plugins.
      * @throws IOException If an I/O error occurs during class scanning or loading.
      */
     @NotNull Class<?> @NotNull [] classes() throws IOException;
 
+    /**
+     * Returns a lazy stream of the plugin classes that match the current filter criteria.
+     * <p>
+     * The classes are scanned in a background thread and yielded as soon as they're found, so the consumer
+     * doesn't need to wait for the whole scan to finish. The stream must be closed (preferably with a
+     * try-with-resources block) to cancel the scan if it isn't fully consumed.
+     * <p>
+     * I/O errors that happens while scanning are thrown by the stream operations as an
+     * {@link java.io.UncheckedIOException}.
+     *
+     * @return A stream of Class objects representing the matching plugins.
+     */
+    @NotNull Stream<Class<?>> discover();
+
     /**
      * Loads the plugins that match the current filter criteria.
      * <p>
@@ -344,7 +541,9 @@ public interface PluginFinder {
     /**
      * Loads the plugins that match the current filter criteria and satisfy the given predicate.
      * <p>
-     * The predicate can be used to perform additional filtering based on the Class object of each plugin.
+     * The predicate can be used to perform additional filtering based on the Class object of each plugin. The
+     * dependants of a plugin refused by a handler aren't started either, whether the load is sequential or
+     * concurrent.
      *
      * @param predicate A predicate to test each Class object for further filtering.
      * @return An array of PluginInfo objects for the loaded plugins.
@@ -352,4 +551,82 @@ public interface PluginFinder {
      * @throws IOException               If an I/O error occurs during plugin discovery or loading.
      */
     @NotNull PluginInfo @NotNull [] load(@NotNull Predicate<Class<?>> predicate) throws PluginInitializeException, IOException;
-}
\ No newline at end of file
+
+    /**
+     * Asynchronously loads the plugins that match the current filter criteria.
+     *
+     * @return A future completed with the loaded plugins.
+     * @see #loadAsync(Predicate)
+     */
+    default @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> loadAsync() {
+        return loadAsync((plugin) -> true);
+    }
+
+    /**
+     * Asynchronously loads the plugins that match the current filter criteria and satisfy the given predicate.
+     * <p>
+     * The load runs at a lifecycle thread (a virtual thread on Java 21 or newer, a thread of the lifecycle pool
+     * otherwise), the returned future completes with the loaded plugins, or exceptionally with the exception
+     * thrown by {@link #load(Predicate)}. Use {@link PluginFactory#await(Class)} to wait only for specific plugins.
+     *
+     * @param predicate A predicate to test each Class object for further filtering.
+     * @return A future completed with the loaded plugins.
+     */
+    default @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> loadAsync(@NotNull Predicate<Class<?>> predicate) {
+        return LifecycleTasks.async(() -> load(predicate));
+    }
+
+    /**
+     * Loads the plugins that match the current filter criteria while they're being discovered.
+     * <p>
+     * Unlike {@link #load()}, the plugins are created as soon as their classes are found by {@link #discover()},
+     * and each plugin starts as soon as all of its dependencies have been started.
+     *
+     * @return An array of PluginInfo objects for the loaded plugins.
+     * @throws PluginInitializeException If an error occurs during plugin initialization.
+     * @throws IOException               If an I/O error occurs during plugin discovery or loading.
+     */
+    default @NotNull PluginInfo @NotNull [] loadIncrementally() throws PluginInitializeException, IOException {
+        return loadIncrementally((plugin) -> true);
+    }
+
+    /**
+     * Loads the plugins that match the current filter criteria and satisfy the given predicate while they're
+     * being discovered.
+     * <p>
+     * Each plugin is created as soon as its class is found by {@link #discover()}, and starts as soon as all of
+     * its dependencies have been started. Between plugins that are ready at the same time, the lowest priority
+     * starts first. The dependants of a plugin refused by a handler (or skipped because of a timeout) aren't
+     * started either.
+     *
+     * @param predicate A predicate to test each Class object for further filtering.
+     * @return An array of PluginInfo objects for the loaded plugins.
+     * @throws PluginInitializeException If an error occurs during plugin initialization.
+     * @throws IOException               If an I/O error occurs during plugin discovery or loading.
+     */
+    @NotNull PluginInfo @NotNull [] loadIncrementally(@NotNull Predicate<Class<?>> predicate) throws PluginInitializeException, IOException;
+
+    // Classes
+
+    /**
+     * Defines what happens to the remaining load (or shutdown) when a plugin exceeds its timeout.
+     */
+    enum TimeoutPolicy {
+
+        /**
+         * The load fails with a {@link PluginInitializeException} caused by a {@link java.util.concurrent.TimeoutException},
+         * after the plugins already starting finish. At the shutdown hook, the timeout fails the hook like any other close
+         * failure.
+         */
+        ABORT,
+
+        /**
+         * The plugin stays at the {@code FAILED} state and the load continues without starting its dependants, the
+         * skipped plugins are listed by {@link StartupReport#getSkipped()}. At the shutdown hook, the timeout is
+         * ignored and the remaining plugins are closed.
+         */
+        CONTINUE,
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package codes.laivy.plugin.factory;
+
+import codes.laivy.plugin.initializer.PluginInitializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The {@link PluginInitializer} instances shared by the factories that don't keep their own, used by the default
+ * {@link PluginFactory#getInitializer(Class)} method. The instances are cached per initializer type using a
+ * {@link ClassValue}, so the cache doesn't prevent the initializer classes from being unloaded.
+ */
+final class SharedInitializers {
+
+    // Static initializers
+
+    private static final @NotNull ClassValue<PluginInitializer> initializers = new ClassValue<PluginInitializer>() {
+        @Override
+        protected @NotNull PluginInitializer computeValue(@NotNull Class<?> type) {
+            return create(type.asSubclass(PluginInitializer.class));
+        }
+    };
+
+    /**
+     * Retrieves the shared instance of the initializer type, created at the first call.
+     *
+     * @param type the initializer class
+     * @param <T>  the initializer type
+     * @return the shared initializer instance
+     * @throws RuntimeException if the initializer type cannot be instantiated
+     */
+    public static <T extends PluginInitializer> @NotNull T get(@NotNull Class<T> type) {
+        return type.cast(initializers.get(type));
+    }
+
+    private static @NotNull PluginInitializer create(@NotNull Class<? extends PluginInitializer> type) {
+        try {
+            // Constructor
+            @NotNull Constructor<? extends PluginInitializer> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            return constructor.newInstance();
+        } catch (@NotNull InvocationTargetException e) {
+            throw new RuntimeException("cannot execute plugin loader's constructor: " + type, e);
+        } catch (@NotNull NoSuchMethodException e) {
+            throw new RuntimeException("cannot find plugin loader's empty declared constructor: " + type, e);
+        } catch (@NotNull InstantiationException e) {
+            throw new RuntimeException("cannot instantiate plugin loader: " + type, e);
+        } catch (@NotNull IllegalAccessException e) {
+            throw new RuntimeException("cannot access plugin loader's constructor: " + type, e);
+        }
+    }
+
+    // Object
+
+    private SharedInitializers() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+}
@@ -0,0 +1,144 @@
+package codes.laivy.plugin.factory;
+
+import codes.laivy.plugin.PluginInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The time spent at each phase of a plugin load, for the whole load and for every plugin individually.
+ * <p>
+ * A report is created by every {@link PluginFinder#load()} (and its incremental and asynchronous variants), and
+ * it can be retrieved after the load with {@link PluginFinder#getStartupReport()}, even if the load failed. The
+ * durations are wall time: when the plugins are started concurrently, the sum of the plugins durations can be
+ * greater than the load duration.
+ * <p>
+ * The allocated bytes of each plugin are only measured when enabled with
+ * {@link PluginFinder#setAllocationTracking(boolean)} and supported by the JVM.
+ * <p>
+ * <strong>Usage Example:</strong>
+ * <pre>{@code
+ * PluginFinder finder = Plugins.find().addPackage("com.example");
+ * finder.load();
+ *
+ * StartupReport report = finder.getStartupReport();
+ * report.getTimings().stream()
+ *       .sorted(Comparator.comparing(StartupReport.Timing::getDuration).reversed())
+ *       .limit(5)
+ *       .forEach(timing -> System.out.println(timing.getReference().getName() + ": " + timing.getDuration().toMillis() + "ms"));
+ * }</pre>
+ */
+public interface StartupReport {
+
+    // Getters
+
+    /**
+     * @return the wall time of the whole load, from the beginning of the scan until the plugins are linked
+     */
+    @NotNull Duration getDuration();
+
+    /**
+     * Retrieves the time spent at a phase. The {@link Phase#SCAN} time is the time spent discovering the
+     * classes; the time of the other phases is the sum of the time of every plugin at that phase.
+     *
+     * @param phase the phase
+     * @return the time spent at the phase
+     */
+    @NotNull Duration getDuration(@NotNull Phase phase);
+
+    /**
+     * @return the timings of every plugin created by the load, in the order they were created
+     */
+    @Unmodifiable @NotNull Collection<@NotNull Timing> getTimings();
+
+    /**
+     * Retrieves the timing of a plugin.
+     *
+     * @param reference the plugin class
+     * @return the timing of the plugin, or empty if the plugin wasn't created by the load
+     */
+    @NotNull Optional<Timing> getTiming(@NotNull Class<?> reference);
+
+    /**
+     * Retrieves the plugins the load didn't start, with the reason: refused by a handler, timed out with the
+     * {@link PluginFinder.TimeoutPolicy#CONTINUE} policy, or one of their dependencies was skipped too.
+     *
+     * @return the skipped plugins and the reason of each one, in the order they were skipped
+     */
+    @Unmodifiable @NotNull Map<Class<?>, String> getSkipped();
+
+    // Classes
+
+    /**
+     * The phases of a plugin load.
+     */
+    enum Phase {
+
+        /**
+         * Discovering the plugin classes at the class loaders, the indexes and the scan cache.
+         */
+        SCAN,
+
+        /**
+         * Creating the plugin builder, with its descriptor, initializer and dependencies.
+         */
+        CREATE,
+
+        /**
+         * Calling the category and global handlers that accept (or refuse) the plugin builder and the plugin info.
+         */
+        ACCEPT,
+
+        /**
+         * Building the plugin info and registering it at the factory.
+         */
+        BUILD,
+
+        /**
+         * Starting the plugin, excluding the time spent at its lifecycle handlers.
+         */
+        START,
+
+        /**
+         * Running the lifecycle handlers of the plugin while it starts, see {@link PluginInfo#getHandlingTime()}.
+         */
+        HANDLERS,
+
+    }
+
+    /**
+     * The time spent by a single plugin at each phase of the load.
+     */
+    interface Timing {
+
+        /**
+         * @return the plugin class
+         */
+        @NotNull Class<?> getReference();
+
+        /**
+         * @return the total time spent by the plugin, at all the phases
+         */
+        @NotNull Duration getDuration();
+
+        /**
+         * Retrieves the time spent by the plugin at a phase. The plugins never spend time at the {@link Phase#SCAN}.
+         *
+         * @param phase the phase
+         * @return the time spent at the phase, zero if the plugin didn't reach it
+         */
+        @NotNull Duration getDuration(@NotNull Phase phase);
+
+        /**
+         * @return the bytes allocated by the threads while creating, building and starting the plugin, or -1 if
+         * the allocation tracking is disabled or not supported by the JVM
+         */
+        long getAllocatedBytes();
+
+    }
+
+}
@@ -1,8 +1,8 @@
 package codes.laivy.plugin.initializer;
 
+import codes.laivy.plugin.PluginDescriptor;
 import codes.laivy.plugin.PluginInfo;
 import codes.laivy.plugin.PluginInfo.Builder;
-import codes.laivy.plugin.annotation.Priority;
 import codes.laivy.plugin.category.PluginCategory;
 import codes.laivy.plugin.factory.handlers.Handlers;
 import org.jetbrains.annotations.NotNull;
@@ -33,10 +33,7 @@ abstract class AbstractPluginBuilder implements Builder {
 
     public AbstractPluginBuilder(@NotNull Class<?> reference) {
         this.reference = reference;
-
-        if (reference.isAnnotationPresent(Priority.class)) {
-            this.priority = reference.getAnnotation(Priority.class).value();
-        }
+        this.priority = PluginDescriptor.of(reference).getPriority();
     }
 
     // Getters
@@ -151,8 +148,8 @@ abstract class AbstractPluginBuilder implements Builder {
     private final class DefaultComparable implements Comparable<Builder> {
         @Override
         public int compareTo(@NotNull Builder o) {
-            int a = getReference().isAnnotationPresent(Priority.class) ? getReference().getAnnotation(Priority.class).value() : 0;
-            int b = o.getReference().isAnnotationPresent(Priority.class) ? o.getReference().getAnnotation(Priority.class).value() : 0;
+            int a = PluginDescriptor.of(getReference()).getPriority();
+            int b = PluginDescriptor.of(o.getReference()).getPriority();
 
             return Integer.compare(a, b);
         }
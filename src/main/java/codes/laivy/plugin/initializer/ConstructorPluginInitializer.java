@@ -1,5 +1,6 @@
 package codes.laivy.plugin.initializer;
 
+import codes.laivy.plugin.PluginDescriptor;
 import codes.laivy.plugin.PluginInfo;
 import codes.laivy.plugin.category.PluginCategory;
 import codes.laivy.plugin.exception.PluginInitializeException;
@@ -10,9 +11,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.Flushable;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * A concrete implementation of {@link PluginInitializer} that initializes a plugin by invoking its no-argument
@@ -109,8 +110,7 @@ public final class ConstructorPluginInitializer implements PluginInitializer {
      * In the event of any exception during the instantiation process, the following measures are taken:
      * <ul>
      *   <li>The plugin state is set to FAILED.</li>
-     *   <li>If the exception is an {@link InvocationTargetException} and its cause is a {@link PluginInitializeException},
-     *       the underlying cause is rethrown.</li>
+     *   <li>If the constructor throws a {@link PluginInitializeException}, it is rethrown.</li>
      *   <li>If the exception is a {@link NoSuchMethodException}, a {@link PluginInitializeException} is thrown with a message
      *       indicating that no declared empty constructor is available.</li>
      *   <li>If the exception is an {@link IllegalAccessException}, a {@link PluginInitializeException} is thrown indicating
@@ -158,23 +158,23 @@ public final class ConstructorPluginInitializer implements PluginInitializer {
          * The method performs the following sequence of operations:
          * <ol>
          *   <li>Calls {@code super.start()} to execute any necessary preliminary startup logic.</li>
-         *   <li>Uses reflection to obtain the no-argument constructor from the plugin class, ensuring it is accessible even
-         *       if declared private or with other restricted visibility.</li>
-         *   <li>Invokes the constructor to create a new instance of the plugin.</li>
+         *   <li>Retrieves the cached handle of the no-argument constructor from the plugin's {@link PluginDescriptor}, which
+         *       is looked up (and made accessible even if declared private) only at the first start.</li>
+         *   <li>Invokes the constructor handle to create a new instance of the plugin.</li>
          *   <li>If the instance is successfully created, it is stored internally and the plugin state is updated to RUNNING.</li>
          * </ol>
          * <p>
          * If any exception occurs during the instantiation process, the following error handling is applied:
          * <ul>
-         *   <li>An {@link InvocationTargetException} is caught, and if its underlying cause is a {@link PluginInitializeException},
-         *       that exception is rethrown; otherwise, a new {@link PluginInitializeException} is thrown with a detailed message
-         *       including the plugin class name and the underlying cause.</li>
+         *   <li>If the constructor throws a {@link PluginInitializeException}, that exception is rethrown; any other exception
+         *       results in a new {@link PluginInitializeException} with a detailed message including the plugin class name
+         *       and the underlying cause.</li>
          *   <li>A {@link NoSuchMethodException} indicates that the plugin class does not declare an empty constructor, and
          *       a corresponding {@link PluginInitializeException} is thrown.</li>
          *   <li>An {@link IllegalAccessException} is handled similarly by throwing a {@link PluginInitializeException} with a message
          *       indicating the constructor's inaccessibility.</li>
-         *   <li>Any other {@code Throwable} leads to a {@link RuntimeException} being thrown, indicating a critical failure
-         *       during plugin initialization.</li>
+         *   <li>Any other {@code Throwable} while resolving the constructor leads to a {@link RuntimeException} being thrown,
+         *       indicating a critical failure during plugin initialization.</li>
          * </ul>
          *
          * @throws PluginInitializeException If the no-argument constructor cannot be found, accessed, or successfully invoked,
@@ -191,23 +191,15 @@ public final class ConstructorPluginInitializer implements PluginInitializer {
                 throw new RuntimeException("cannot invoke 'starting' handlers " + getReference().getName(), throwable);
             }
 
-            try {
+            // Resolve the cached constructor handle
+            @NotNull MethodHandle constructor;
 
-                // Generate instance
-                @NotNull Constructor<?> constructor = getReference().getDeclaredConstructor();
-                constructor.setAccessible(true);
-                // Instantiate the plugin using its no-argument constructor.
-                this.instance = constructor.newInstance();
+            try {
+                constructor = PluginDescriptor.of(getReference()).getConstructor();
             } catch (@NotNull Throwable throwable) {
                 setState(State.FAILED);
 
-                if (throwable instanceof InvocationTargetException) {
-                    if (throwable.getCause() instanceof PluginInitializeException) {
-                        throw (PluginInitializeException) throwable.getCause();
-                    }
-
-                    throw new PluginInitializeException(getReference(), "cannot invoke constructor from class: " + getReference().getName(), throwable.getCause());
-                } else if (throwable instanceof NoSuchMethodException) {
+                if (throwable instanceof NoSuchMethodException) {
                     throw new PluginInitializeException(getReference(), "there's no declared empty constructor at plugin's class: " + getReference().getName(), throwable);
                 } else if (throwable instanceof IllegalAccessException) {
                     throw new PluginInitializeException(getReference(), "cannot access declared empty constructor from plugin's class: " + getReference().getName(), throwable);
@@ -216,6 +208,19 @@ public final class ConstructorPluginInitializer implements PluginInitializer {
                 }
             }
 
+            try {
+                // Instantiate the plugin using its no-argument constructor.
+                this.instance = (Object) constructor.invokeExact();
+            } catch (@NotNull Throwable throwable) {
+                setState(State.FAILED);
+
+                if (throwable instanceof PluginInitializeException) {
+                    throw (PluginInitializeException) throwable;
+                }
+
+                throw new PluginInitializeException(getReference(), "cannot invoke constructor from class: " + getReference().getName(), throwable);
+            }
+
             try {
                 // Mark as running
                 setState(State.RUNNING);
@@ -294,8 +299,8 @@ public final class ConstructorPluginInitializer implements PluginInitializer {
 
         @Override
         public @NotNull PluginInfo build() {
-            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)).toArray(PluginCategory[]::new), getPriority());
-            info.getCategories().addAll(registeredCategories);
+            // The categories are set directly, without calling their handlers again: the finder already called them
+            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), Stream.concat(unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)), registeredCategories.stream()).toArray(PluginCategory[]::new), getPriority());
 
             return info;
         }
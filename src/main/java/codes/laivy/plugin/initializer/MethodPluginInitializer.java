@@ -1,5 +1,6 @@
 package codes.laivy.plugin.initializer;
 
+import codes.laivy.plugin.PluginDescriptor;
 import codes.laivy.plugin.PluginInfo;
 import codes.laivy.plugin.category.PluginCategory;
 import codes.laivy.plugin.exception.PluginInitializeException;
@@ -11,10 +12,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * A concrete implementation of {@link PluginInitializer} that initializes a plugin by invoking a static
@@ -160,7 +161,8 @@ public final class MethodPluginInitializer implements PluginInitializer {
          *         The method must be static; if it is not, an {@link IllegalStateException} is thrown.
          *         If multiple {@code initialize} methods exist (one accepting a plugin instance parameter and one without),
          *         the first encountered method is executed.</li>
-         *     <li>Sets the method as accessible and invokes it without parameters.</li>
+         *     <li>Sets the method as accessible and invokes it without parameters. The method is resolved only at the first
+         *         start and cached as a method handle at the plugin's {@link PluginDescriptor}.</li>
          *     <li>If the {@code initialize} method returns an object instance, this instance is stored for later use;
          *         if it returns {@code void}, no instance is stored and the plugin is treated as having no instance.</li>
          *     <li>Upon successful execution, the plugin state is set to RUNNING.</li>
@@ -185,15 +187,15 @@ public final class MethodPluginInitializer implements PluginInitializer {
                 setState(State.STARTING);
                 handle("start", (handler) -> handler.start(this));
 
-                // Initialize by method
-                @NotNull Method method = getReference().getDeclaredMethod("initialize");
-                method.setAccessible(true);
-                // Verify that the initialize method is static; if not, throw an exception.
-                if (!Modifier.isStatic(method.getModifiers())) {
-                    throw new IllegalStateException("the plugin's initialize method must be static");
+                // Initialize by the cached method handle, the method must be static
+                @NotNull MethodHandle method = PluginDescriptor.of(getReference()).getInitialize();
+
+                try {
+                    // Invoke the static initialize method. It may return an instance or be void.
+                    this.instance = (Object) method.invokeExact();
+                } catch (@NotNull Throwable throwable) {
+                    throw new InvocationTargetException(throwable);
                 }
-                // Invoke the static initialize method. It may return an instance or be void.
-                this.instance = method.invoke(null);
 
                 // Mark as running
                 setState(State.RUNNING);
@@ -223,7 +225,8 @@ public final class MethodPluginInitializer implements PluginInitializer {
          *     <li>Invokes the superclass {@code close()} to perform any preliminary shutdown tasks.</li>
          *     <li>Iterates over all declared methods of the plugin class to search for a static method named
          *         {@code interrupt} that has at most one parameter. If multiple candidate methods exist, the first
-         *         one encountered is selected.</li>
+         *         one encountered is selected. The method is resolved only at the first close and cached as a method
+         *         handle at the plugin's {@link PluginDescriptor}.</li>
          *     <li>If an {@code interrupt} method is found:
          *         <ul>
          *             <li>If the method accepts one parameter, it is invoked with the current plugin instance
@@ -261,28 +264,16 @@ public final class MethodPluginInitializer implements PluginInitializer {
 
             try {
                 try {
-                    @Nullable Method method = null;
-                    for (@NotNull Method target : getReference().getDeclaredMethods()) {
-                        if (!target.getName().equals("interrupt")) {
-                            continue;
-                        } else if (!Modifier.isStatic(target.getModifiers())) {
-                            continue;
-                        } else if (target.getParameterCount() > 1) {
-                            continue;
-                        }
-
-                        method = target;
-                        break;
-                    }
+                    // The cached interrupt method handle, it receives the plugin instance (ignored by methods without parameters)
+                    @Nullable MethodHandle method = PluginDescriptor.of(getReference()).getInterrupt();
 
                     // If an interrupt method is found, invoke it. The method may accept one parameter (the plugin instance)
                     // or no parameters. If invoked, resource cleanup via Closeable/Flushable is bypassed.
                     if (method != null) {
-                        method.setAccessible(true);
-                        if (method.getParameterCount() == 1) {
-                            method.invoke(null, getInstance());
-                        } else {
-                            method.invoke(null);
+                        try {
+                            method.invokeExact(getInstance());
+                        } catch (@NotNull Throwable throwable) {
+                            throw new InvocationTargetException(throwable);
                         }
                     } else if (getInstance() != null) {
                         try {
@@ -331,8 +322,8 @@ public final class MethodPluginInitializer implements PluginInitializer {
 
         @Override
         public @NotNull PluginInfo build() {
-            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)).toArray(PluginCategory[]::new), getPriority());
-            info.getCategories().addAll(registeredCategories);
+            // The categories are set directly, without calling their handlers again: the finder already called them
+            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), Stream.concat(unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)), registeredCategories.stream()).toArray(PluginCategory[]::new), getPriority());
 
             return info;
         }
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * A concrete implementation of {@link PluginInitializer} that loads a plugin class
@@ -131,8 +132,8 @@ public final class StaticPluginInitializer implements PluginInitializer {
 
         @Override
         public @NotNull PluginInfo build() {
-            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)).toArray(PluginCategory[]::new), getPriority());
-            info.getCategories().addAll(registeredCategories);
+            // The categories are set directly, without calling their handlers again: the finder already called them
+            @NotNull PluginInfo info = new PluginInfoImpl(getReference(), getName(), getDescription(), dependencies.stream().map(Plugins::retrieve).toArray(PluginInfo[]::new), Stream.concat(unregisteredCategories.stream().map(category -> Plugins.getFactory().getCategory(category)), registeredCategories.stream()).toArray(PluginCategory[]::new), getPriority());
 
             return info;
         }
@@ -4,20 +4,26 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URISyntaxException;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -25,11 +31,38 @@ final class Classes {
 
     // Static initializers
 
+    /**
+     * The maximum amount of jar entries visited by a single fork-join task at parallel visits
+     */
+    public static final int THRESHOLD = 512;
+
+    private static final @NotNull ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[8192]);
+    private static final @NotNull Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the fork-join pool used by the parallel visits with the given parallelism level. The pools are
+     * shared by all the visits, the {@link ForkJoinPool#commonPool() common pool} is used when the parallelism
+     * level matches it. The pool threads are daemons and are released while the pool is idle.
+     *
+     * @param parallelism the parallelism level
+     * @return the shared pool
+     */
+    public static @NotNull ForkJoinPool getPool(int parallelism) {
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+            return ForkJoinPool.commonPool();
+        }
+
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
     public static @NotNull Class<?> define(byte[] bytes) {
+        return define(bytes, bytes.length);
+    }
+    public static @NotNull Class<?> define(byte[] bytes, int length) {
         try {
             @NotNull Method define = ClassLoader.class.getDeclaredMethod("defineClass", byte[].class, int.class, int.class);
             define.setAccessible(true);
-            return (Class<?>) define.invoke(Plugins.class.getClassLoader(), bytes, 0, bytes.length);
+            return (Class<?>) define.invoke(Plugins.class.getClassLoader(), bytes, 0, length);
         } catch (@NotNull NoSuchMethodException e) {
             throw new RuntimeException("cannot find ClassLoader's #defineClass(byte[], int, int) method", e);
         } catch (@NotNull IllegalAccessException e) {
@@ -49,98 +82,470 @@ final class Classes {
 
         return buffer.toByteArray();
     }
-    public static void getAllTypeClassesWithVisitor(@NotNull BiConsumer<@NotNull String, @NotNull InputStream> consumer) throws IOException {
-        @NotNull String home = System.getProperty("java.home");
 
-        for (@NotNull String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
-            if (path.startsWith(home)) {
+    /**
+     * Checks if the given pattern occurs at the bytes, used to look for descriptors at the class constant pool
+     * without parsing it.
+     *
+     * @param bytes   the bytes
+     * @param length  the amount of valid bytes at the array
+     * @param pattern the pattern to look for
+     * @return true if the pattern occurs at the bytes, false otherwise
+     */
+    public static boolean contains(byte @NotNull [] bytes, int length, byte @NotNull [] pattern) {
+        if (pattern.length == 0) {
+            return true;
+        }
+
+        byte first = pattern[0];
+        int last = length - pattern.length;
+
+        search:
+        for (int index = 0; index <= last; index++) {
+            if (bytes[index] != first) {
                 continue;
             }
 
-            @NotNull File file = new File(path);
+            for (int offset = 1; offset < pattern.length; offset++) {
+                if (bytes[index + offset] != pattern[offset]) {
+                    continue search;
+                }
+            }
 
-            if (file.isDirectory()) {
-                findClassesInDirectory(file, "", consumer);
-            } else if (file.getName().endsWith(".jar")) {
-                findClassesInJar(file, consumer);
+            return true;
+        }
+
+        return false;
+    }
+    public static @NotNull List<@NotNull File> getClassPathRoots() {
+        @NotNull List<File> roots = new ArrayList<>();
+
+        // Both aren't defined at native images, there's no classpath to scan
+        @Nullable String home = System.getProperty("java.home");
+        @NotNull String classpath = System.getProperty("java.class.path", "");
+
+        for (@NotNull String path : classpath.split(File.pathSeparator)) {
+            if (path.isEmpty() || (home != null && path.startsWith(home))) {
+                continue;
             }
+
+            roots.add(new File(path).getAbsoluteFile());
         }
+
+        return roots;
     }
-    public static @NotNull Map<@NotNull String, @NotNull URL> read(@NotNull ClassLoader loader, @NotNull URL url) throws IOException {
-        @NotNull Map<@NotNull String, @NotNull URL> map = new LinkedHashMap<>();
-        @NotNull String protocol = url.getProtocol();
 
-        if ("file".equals(protocol)) {
-            @NotNull Map<String, URL> temp = new LinkedHashMap<>();
-            @NotNull File directory = new File(URLDecoder.decode(url.getPath(), "UTF-8"));
+    /**
+     * Visits every class file of the given classpath root (a directory or a jar file).
+     *
+     * @param root     the classpath root
+     * @param consumer the consumer that receives the binary name and the contents of each class
+     * @throws IOException if an I/O error occurs while reading the root
+     */
+    public static void visit(@NotNull File root, @NotNull ClassConsumer consumer) throws IOException {
+        visit(root, PackageFilter.ALL, consumer, false, false);
+    }
 
-            if (directory.isDirectory()) listFiles(directory, temp);
+    /**
+     * Visits every class file of the given classpath root (a directory or a jar file).
+     * <p>
+     * When parallel, this method must be called from a {@link ForkJoinPool} task: every subdirectory and
+     * every range of {@link #THRESHOLD} jar entries becomes a fork-join task, so the consumer
+     * must be thread-safe.
+     * <p>
+     * When mapped, jar files are read using a memory-mapped {@link MappedJar}, falling back to a {@link JarFile}
+     * if the jar cannot be mapped.
+     * <p>
+     * The package filter is applied before anything is opened: directories that cannot contain any accepted
+     * package aren't descended and jar entries outside the accepted packages aren't read.
+     *
+     * @param root     the classpath root
+     * @param filter   the filter of the packages that should be visited
+     * @param consumer the consumer that receives the binary name and the contents of each class
+     * @param parallel true if the root should be split into fork-join tasks
+     * @param mapped   true if jar files should be memory-mapped
+     * @throws IOException if an I/O error occurs while reading the root
+     */
+    public static void visit(@NotNull File root, @NotNull PackageFilter filter, @NotNull ClassConsumer consumer, boolean parallel, boolean mapped) throws IOException {
+        if (parallel && !ForkJoinTask.inForkJoinPool()) {
+            throw new IllegalStateException("parallel visits must be done inside a fork join pool");
+        }
 
-            for (@NotNull Entry<@NotNull String, @NotNull URL> entry : temp.entrySet()) try {
-                map.put(entry.getKey().substring(url.toURI().getPath().length() - 1), entry.getValue());
-            } catch (@NotNull URISyntaxException e) {
-                throw new RuntimeException("cannot generate uri from url: " + url, e);
+        if (root.isDirectory()) {
+            if (parallel) try {
+                new DirectoryTask(root, "", filter, consumer).invoke();
+            } catch (@NotNull UncheckedIOException e) {
+                throw e.getCause();
+            } else {
+                findClassesInDirectory(root, "", filter, consumer);
+            }
+        } else if (root.getName().endsWith(".jar")) {
+            try (@NotNull Archive archive = open(root, filter, mapped)) {
+                if (parallel) try {
+                    new ArchiveTask(archive, 0, archive.size(), consumer).invoke();
+                } catch (@NotNull UncheckedIOException e) {
+                    throw e.getCause();
+                } else for (int index = 0; index < archive.size(); index++) {
+                    archive.read(index, consumer);
+                }
             }
         }
+    }
+
+    /**
+     * Visits only the given classes of the classpath root (a directory or a jar file), the classes that
+     * doesn't exist at the root are ignored.
+     *
+     * @param root     the classpath root
+     * @param names    the binary names of the classes to visit
+     * @param consumer the consumer that receives the binary name and the contents of each class
+     * @throws IOException if an I/O error occurs while reading the root
+     */
+    public static void visit(@NotNull File root, @NotNull Collection<@NotNull String> names, @NotNull ClassConsumer consumer) throws IOException {
+        if (root.isDirectory()) {
+            for (@NotNull String name : names) {
+                @NotNull File file = new File(root, name.replace('.', File.separatorChar) + ".class");
+                if (!file.isFile()) continue;
 
-        return map;
+                try (@NotNull InputStream stream = Files.newInputStream(file.toPath())) {
+                    read(stream, file.length(), name, consumer);
+                }
+            }
+        } else if (root.getName().endsWith(".jar")) {
+            try (@NotNull JarFile jar = new JarFile(root, false)) {
+                for (@NotNull String name : names) {
+                    @Nullable JarEntry entry = jar.getJarEntry(name.replace('.', '/') + ".class");
+                    if (entry == null) continue;
+
+                    try (@NotNull InputStream stream = jar.getInputStream(entry)) {
+                        read(stream, entry.getSize(), name, consumer);
+                    }
+                }
+            }
+        }
+    }
+    /**
+     * Retrieves the classpath root (the jar file or the directory) that contains the resource represented by
+     * the given url.
+     *
+     * @param url      the url of the resource
+     * @param resource the resource path used to retrieve the url, e.g. {@code com/acme/plugins}
+     * @return the root file, or null if the url protocol isn't supported
+     */
+    public static @Nullable File getRoot(@NotNull URL url, @NotNull String resource) {
+        try {
+            @NotNull String protocol = url.getProtocol();
+
+            if ("jar".equals(protocol)) {
+                @NotNull String path = url.getPath();
+                int separator = path.indexOf("!/");
+
+                if (separator < 0) {
+                    return null;
+                }
+
+                @NotNull URL file = new URL(path.substring(0, separator));
+                return "file".equals(file.getProtocol()) ? new File(URLDecoder.decode(file.getPath(), "UTF-8")).getAbsoluteFile() : null;
+            } else if ("file".equals(protocol)) {
+                @Nullable File file = new File(URLDecoder.decode(url.getPath(), "UTF-8")).getAbsoluteFile();
+
+                // Walk back the resource path segments
+                for (@NotNull String segment : resource.split("/")) {
+                    if (segment.isEmpty()) continue;
+                    else if (file == null) break;
+
+                    file = file.getParentFile();
+                }
+
+                return file;
+            }
+        } catch (@NotNull MalformedURLException | @NotNull IllegalArgumentException ignore) {
+        } catch (@NotNull IOException e) {
+            throw new RuntimeException("cannot decode resource url: " + url, e);
+        }
+
+        return null;
     }
 
     // Private utilities
 
-    private static void findClassesInDirectory(@NotNull File directory, @NotNull String packageName, @NotNull BiConsumer<@NotNull String, @NotNull InputStream> consumer) throws IOException {
+    /**
+     * Retrieves the current thread's reusable buffer with at least the given capacity. The contents of
+     * the buffer are only valid until the next call of this method at the same thread.
+     *
+     * @param capacity the minimum capacity of the buffer
+     * @return the current thread's buffer
+     */
+    static byte @NotNull [] buffer(int capacity) {
+        byte[] buffer = BUFFER.get();
+
+        if (buffer.length < capacity) {
+            buffer = new byte[Math.max(capacity, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+
+        return buffer;
+    }
+    static boolean isClass(@NotNull String name) {
+        return name.endsWith(".class") && !name.toLowerCase().endsWith("module-info.class");
+    }
+    static @NotNull String getClassName(@NotNull String entry) {
+        return entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+    }
+
+    private static void read(@NotNull InputStream input, long expected, @NotNull String name, @NotNull ClassConsumer consumer) throws IOException {
+        // The expected size has one more byte, so the end of the stream is reached without growing the buffer
+        byte[] buffer = buffer(expected >= 0 && expected < Integer.MAX_VALUE ? (int) expected + 1 : 8192);
+        int length = 0;
+
+        int bytesRead;
+        while ((bytesRead = input.read(buffer, length, buffer.length - length)) != -1) {
+            length += bytesRead;
+
+            if (length == buffer.length) {
+                byte[] grown = buffer(buffer.length * 2);
+                if (grown != buffer) System.arraycopy(buffer, 0, grown, 0, length);
+
+                buffer = grown;
+            }
+        }
+
+        consumer.accept(name, buffer, length);
+    }
+    static @NotNull String getPackage(@NotNull String entry) {
+        int separator = entry.lastIndexOf('/');
+        return separator < 0 ? "" : entry.substring(0, separator).replace('/', '.');
+    }
+
+    private static @NotNull Archive open(@NotNull File file, @NotNull PackageFilter filter, boolean mapped) throws IOException {
+        if (mapped) try {
+            return new MappedJar(file, filter);
+        } catch (@NotNull IOException ignore) {
+            // Unsupported jar (e.g. zip64 or larger than 2 GB) or runtime, use the default backend
+        }
+
+        return new JarArchive(file, filter);
+    }
+
+    private static void findClassesInDirectory(@NotNull File directory, @NotNull String packageName, @NotNull PackageFilter filter, @NotNull ClassConsumer consumer) throws IOException {
         // Retrieve directory files
         @NotNull File[] files = directory.listFiles();
         if (files == null) files = new File[0];
 
+        boolean within = filter.isWithin(packageName.isEmpty() ? "" : packageName.substring(0, packageName.length() - 1));
+
         // Read all files
         for (@NotNull File file : files) {
             if (file.isDirectory()) {
-                findClassesInDirectory(file, packageName + file.getName() + ".", consumer);
-            } else if (file.getName().endsWith(".class") && !file.getName().toLowerCase().endsWith("module-info.class")) {
+                if (filter.isParent(packageName + file.getName())) {
+                    findClassesInDirectory(file, packageName + file.getName() + ".", filter, consumer);
+                }
+            } else if (within && isClass(file.getName())) {
                 @NotNull String name = packageName + file.getName().replace(".class", "");
 
                 try (@NotNull InputStream stream = Files.newInputStream(file.toPath())) {
-                    consumer.accept(name, stream);
+                    read(stream, file.length(), name, consumer);
                 }
             }
         }
     }
-    private static void findClassesInJar(@NotNull File file, @NotNull BiConsumer<@NotNull String, @NotNull InputStream> consumer) throws IOException {
-        try (@NotNull JarFile jar = new JarFile(file)) {
-            @NotNull Enumeration<JarEntry> entries = jar.entries();
 
-            while (entries.hasMoreElements()) {
-                @NotNull JarEntry entry = entries.nextElement();
+    // Object
 
-                if (entry.getName().endsWith(".class") && !entry.getName().toLowerCase().endsWith("module-info.class")) {
-                    @NotNull String name = entry.getName().replace("/", ".").replace(".class", "");
+    private Classes() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
 
-                    try (@NotNull InputStream stream = jar.getInputStream(entry)) {
-                        consumer.accept(name, stream);
-                    }
+    // Classes
+
+    /**
+     * Receives the classes found while visiting a classpath root.
+     * <p>
+     * The bytes array is a reusable buffer: only the first {@code length} bytes are valid and they are only valid
+     * until the method returns. Consumers that need to keep the bytes must copy them.
+     */
+    @FunctionalInterface
+    interface ClassConsumer {
+        void accept(@NotNull String name, byte @NotNull [] bytes, int length);
+    }
+
+    /**
+     * Decides which packages are visited while walking through a classpath root.
+     */
+    interface PackageFilter {
+
+        @NotNull PackageFilter ALL = new PackageFilter() {
+            @Override
+            public boolean isWithin(@NotNull String packge) {
+                return true;
+            }
+            @Override
+            public boolean isParent(@NotNull String packge) {
+                return true;
+            }
+        };
+
+        /**
+         * @param packge the package name
+         * @return true if the classes of the package should be visited
+         */
+        boolean isWithin(@NotNull String packge);
+
+        /**
+         * @param packge the package name
+         * @return true if the package or any of its sub-packages should be visited
+         */
+        boolean isParent(@NotNull String packge);
+
+    }
+
+    /**
+     * A jar file opened for reading, exposing its class entries by index.
+     */
+    interface Archive extends Closeable {
+
+        int size();
+
+        void read(int index, @NotNull ClassConsumer consumer) throws IOException;
+
+    }
+
+    private static final class JarArchive implements Archive {
+
+        // Object
+
+        private final @NotNull JarFile jar;
+        private final @NotNull List<JarEntry> entries = new ArrayList<>();
+
+        private JarArchive(@NotNull File file, @NotNull PackageFilter filter) throws IOException {
+            // Signatures aren't verified, the classes are only scanned
+            this.jar = new JarFile(file, false);
+
+            for (@NotNull Enumeration<JarEntry> enumeration = jar.entries(); enumeration.hasMoreElements(); ) {
+                @NotNull JarEntry entry = enumeration.nextElement();
+
+                if (isClass(entry.getName()) && filter.isWithin(getPackage(entry.getName()))) {
+                    entries.add(entry);
                 }
             }
         }
+
+        // Getters
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        // Modules
+
+        @Override
+        public void read(int index, @NotNull ClassConsumer consumer) throws IOException {
+            @NotNull JarEntry entry = entries.get(index);
+
+            try (@NotNull InputStream stream = jar.getInputStream(entry)) {
+                Classes.read(stream, entry.getSize(), getClassName(entry.getName()), consumer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            jar.close();
+        }
+
     }
-    private static void listFiles(@NotNull File directory, @NotNull Map<@NotNull String, @NotNull URL> map) throws IOException {
-        @NotNull File @Nullable [] files = directory.listFiles();
 
-        if (files != null) {
+    private static final class DirectoryTask extends RecursiveAction {
+
+        // Static initializers
+
+        private static final long serialVersionUID = 1L;
+
+        // Object
+
+        private final @NotNull File directory;
+        private final @NotNull String packageName;
+        private final @NotNull PackageFilter filter;
+        private final @NotNull ClassConsumer consumer;
+
+        private DirectoryTask(@NotNull File directory, @NotNull String packageName, @NotNull PackageFilter filter, @NotNull ClassConsumer consumer) {
+            this.directory = directory;
+            this.packageName = packageName;
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+
+        // Modules
+
+        @Override
+        protected void compute() {
+            // Retrieve directory files
+            @NotNull File[] files = directory.listFiles();
+            if (files == null) files = new File[0];
+
+            boolean within = filter.isWithin(packageName.isEmpty() ? "" : packageName.substring(0, packageName.length() - 1));
+
+            // Fork the subdirectories and read the files
+            @NotNull List<DirectoryTask> tasks = new ArrayList<>();
+
             for (@NotNull File file : files) {
                 if (file.isDirectory()) {
-                    listFiles(file, map);
-                } else if (file.getName().endsWith(".class")) {
-                    map.put(file.getPath(), file.toURI().toURL());
+                    if (filter.isParent(packageName + file.getName())) {
+                        tasks.add(new DirectoryTask(file, packageName + file.getName() + ".", filter, consumer));
+                    }
+                } else if (within && isClass(file.getName())) {
+                    @NotNull String name = packageName + file.getName().replace(".class", "");
+
+                    try (@NotNull InputStream stream = Files.newInputStream(file.toPath())) {
+                        read(stream, file.length(), name, consumer);
+                    } catch (@NotNull IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
             }
+
+            invokeAll(tasks);
         }
+
     }
+    private static final class ArchiveTask extends RecursiveAction {
 
-    // Object
+        // Static initializers
+
+        private static final long serialVersionUID = 1L;
+
+        // Object
+
+        private final @NotNull Archive archive;
+        private final int start;
+        private final int end;
+        private final @NotNull ClassConsumer consumer;
+
+        private ArchiveTask(@NotNull Archive archive, int start, int end, @NotNull ClassConsumer consumer) {
+            this.archive = archive;
+            this.start = start;
+            this.end = end;
+            this.consumer = consumer;
+        }
+
+        // Modules
+
+        @Override
+        protected void compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ArchiveTask(archive, start, middle, consumer), new ArchiveTask(archive, middle, end, consumer));
+
+                return;
+            }
+
+            for (int index = start; index < end; index++) try {
+                archive.read(index, consumer);
+            } catch (@NotNull IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
 
-    private Classes() {
-        throw new UnsupportedOperationException("this class cannot be instantiated");
     }
 
 }
@@ -0,0 +1,206 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the plugin lifecycle operations (start and close) with a deadline.
+ * <p>
+ * An operation with a timeout is submitted to the {@link LifecycleExecutors#getExecutor() lifecycle executor} while
+ * the calling thread waits for its future. If the timeout expires, the operation is cancelled: it never runs if it
+ * didn't start yet, otherwise it's {@link PluginInfo#cancel(Thread) cancelled} at its thread (the thread is
+ * interrupted and the plugin moves to FAILED). The calling thread continues, even if the operation ignores the
+ * interruption.
+ */
+final class Deadlines {
+
+    // Static initializers
+
+    /**
+     * Runs the lifecycle operation of the plugin, waiting at most the timeout for it.
+     *
+     * @param plugin  the plugin
+     * @param action  the operation name, used at the timeout message (e.g. "start")
+     * @param timeout the timeout, or null to run the operation at the calling thread without a deadline
+     * @param task    the operation
+     * @throws TimeoutException if the operation didn't finish before the timeout, it's cancelled
+     * @throws Throwable        the failure of the operation
+     */
+    public static void run(@NotNull PluginInfo plugin, @NotNull String action, @Nullable Duration timeout, @NotNull Task task) throws Throwable {
+        if (timeout == null) {
+            task.run();
+            return;
+        }
+
+        // Run the operation at the lifecycle executor
+        @NotNull Operation operation = new Operation(plugin, task, Thread.currentThread().getContextClassLoader());
+        LifecycleExecutors.getExecutor().execute(operation);
+
+        if (!await(operation.future, timeout.toNanos()) && operation.cancel()) {
+            throw new TimeoutException("the plugin '" + plugin + "' took more than " + timeout.toMillis() + "ms to " + action);
+        } else if (operation.failure != null) {
+            throw operation.failure;
+        }
+    }
+
+    /**
+     * Waits until the future is done or the timeout expires. The wait is managed, so a lifecycle thread waiting for
+     * another lifecycle operation is compensated by the lifecycle pool. The interruption of the calling thread is
+     * restored later, since the wait is bounded.
+     *
+     * @param future  the future
+     * @param timeout the timeout, in nanoseconds
+     * @return true if the future is done, false if the timeout expired
+     */
+    private static boolean await(@NotNull Future<?> future, long timeout) {
+        long deadline = System.nanoTime() + timeout;
+        boolean interrupted = false;
+
+        while (!future.isDone()) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                break;
+            }
+
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        try {
+                            future.get(remaining, TimeUnit.NANOSECONDS);
+                        } catch (@NotNull ExecutionException | @NotNull CancellationException | @NotNull TimeoutException ignore) {
+                            // Checked again by the loop
+                        }
+
+                        return true;
+                    }
+                    @Override
+                    public boolean isReleasable() {
+                        return future.isDone();
+                    }
+                });
+            } catch (@NotNull InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        return future.isDone();
+    }
+
+    // Object
+
+    private Deadlines() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+    // Classes
+
+    @FunctionalInterface
+    interface Task {
+        void run() throws Throwable;
+    }
+
+    /**
+     * A lifecycle operation submitted to the lifecycle executor. The start, the end and the cancellation of the
+     * operation are synchronized, so a cancellation never reaches its thread after it moved to another task.
+     */
+    private static final class Operation implements Runnable {
+
+        // Object
+
+        private final @NotNull PluginInfo plugin;
+        private final @NotNull Task task;
+        private final @Nullable ClassLoader loader;
+
+        private final @NotNull Object lock = new Object();
+        private final @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private @Nullable Thread thread;
+        private boolean finished = false;
+        private boolean cancelled = false;
+
+        private volatile @Nullable Throwable failure;
+
+        private Operation(@NotNull PluginInfo plugin, @NotNull Task task, @Nullable ClassLoader loader) {
+            this.plugin = plugin;
+            this.task = task;
+            this.loader = loader;
+        }
+
+        // Modules
+
+        @Override
+        public void run() {
+            @NotNull Thread thread = Thread.currentThread();
+
+            synchronized (lock) {
+                if (cancelled) {
+                    return;
+                }
+
+                this.thread = thread;
+            }
+
+            @Nullable ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+
+            try {
+                task.run();
+            } catch (@NotNull Throwable throwable) {
+                failure = throwable;
+            } finally {
+                thread.setContextClassLoader(previous);
+
+                synchronized (lock) {
+                    finished = true;
+
+                    if (cancelled) {
+                        // The pooled thread may run other operations of the plugin, without the interruption
+                        plugin.release(thread);
+                        Thread.interrupted();
+                    }
+                }
+
+                future.complete(null);
+            }
+        }
+
+        /**
+         * Cancels the operation after its timeout expired.
+         *
+         * @return true if the operation was cancelled, false if it finished meanwhile
+         */
+        public boolean cancel() {
+            synchronized (lock) {
+                if (finished) {
+                    return false;
+                }
+
+                cancelled = true;
+                future.cancel(false);
+
+                // The plugin moves to FAILED, its thread (if it started) is interrupted and its state changes ignored
+                plugin.cancel(thread);
+
+                return true;
+            }
+        }
+
+    }
+
+}
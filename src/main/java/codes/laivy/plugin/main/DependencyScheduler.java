@@ -0,0 +1,398 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo.Builder;
+import codes.laivy.plugin.exception.InvalidPluginException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Schedules the plugin builders in dependency order using the Kahn's algorithm.
+ * <p>
+ * Each builder keeps the count of its dependencies (only the ones that are part of this scheduler) that
+ * aren't completed yet, and a builder becomes ready when that count reaches zero. The ready builders are
+ * polled from a heap ordered by {@link Builder#getPriority()} (lower first), and then by the order they were
+ * added at this scheduler.
+ * <p>
+ * A builder must be {@link #complete(Builder) completed} after it's been handled (even if it was refused
+ * by a handler), so its dependants can become ready. This class isn't thread-safe.
+ * <p>
+ * Builders can also be {@link #add(Builder, Predicate) added} while the scheduler is being polled, as they're
+ * discovered. A dependency that wasn't added yet is waited for until its builder is added and completed.
+ */
+final class DependencyScheduler {
+
+    // Static initializers
+
+    /**
+     * Finds every dependency cycle between the builders using the Tarjan's strongly connected components
+     * algorithm, in linear time. Only the dependencies between the given builders are considered.
+     *
+     * @param builders the builders
+     * @return the exact path of one cycle for each strongly connected component that has a cycle, each path starts
+     * and ends with the same class (e.g. {@code A -> B -> C -> A})
+     */
+    public static @NotNull List<@NotNull List<Class<?>>> getCycles(@NotNull Collection<@NotNull Builder> builders) {
+        // Index the graph
+        @NotNull Map<Class<?>, Integer> indexes = new HashMap<>();
+        @NotNull List<Class<?>> references = new ArrayList<>(builders.size());
+
+        for (@NotNull Builder builder : builders) {
+            if (indexes.putIfAbsent(builder.getReference(), references.size()) == null) {
+                references.add(builder.getReference());
+            }
+        }
+
+        int size = references.size();
+        int[][] edges = new int[size][];
+
+        for (@NotNull Builder builder : builders) {
+            @NotNull Class<?> @NotNull [] dependencies = builder.getDependencies();
+            int[] targets = new int[dependencies.length];
+            int count = 0;
+
+            for (@NotNull Class<?> dependency : dependencies) {
+                @Nullable Integer target = indexes.get(dependency);
+                if (target != null) targets[count++] = target;
+            }
+
+            edges[indexes.get(builder.getReference())] = Arrays.copyOf(targets, count);
+        }
+
+        // Tarjan's algorithm, iterative so long dependency chains cannot overflow the stack
+        int[] index = new int[size];
+        int[] low = new int[size];
+        int[] component = new int[size];
+        boolean[] stacked = new boolean[size];
+
+        Arrays.fill(index, -1);
+
+        @NotNull Deque<Integer> stack = new ArrayDeque<>();
+        @NotNull Deque<int[]> frames = new ArrayDeque<>();
+        @NotNull List<List<Integer>> components = new ArrayList<>();
+        int counter = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) continue;
+
+            index[root] = low[root] = counter++;
+            stack.push(root);
+            stacked[root] = true;
+            frames.push(new int[] { root, 0 });
+
+            while (!frames.isEmpty()) {
+                int[] frame = frames.peek();
+                int node = frame[0];
+
+                if (frame[1] < edges[node].length) {
+                    int target = edges[node][frame[1]++];
+
+                    if (index[target] == -1) {
+                        index[target] = low[target] = counter++;
+                        stack.push(target);
+                        stacked[target] = true;
+                        frames.push(new int[] { target, 0 });
+                    } else if (stacked[target]) {
+                        low[node] = Math.min(low[node], index[target]);
+                    }
+
+                    continue;
+                }
+
+                frames.pop();
+
+                if (!frames.isEmpty()) {
+                    int parent = frames.peek()[0];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+
+                if (low[node] == index[node]) {
+                    @NotNull List<Integer> members = new ArrayList<>();
+                    int member;
+
+                    do {
+                        member = stack.pop();
+                        stacked[member] = false;
+                        component[member] = components.size();
+                        members.add(member);
+                    } while (member != node);
+
+                    components.add(members);
+                }
+            }
+        }
+
+        // Extract the exact path of a cycle from each component
+        @NotNull List<List<Class<?>>> cycles = new ArrayList<>();
+
+        for (int id = 0; id < components.size(); id++) {
+            @NotNull List<Integer> members = components.get(id);
+            int start = members.get(members.size() - 1);
+
+            if (members.size() == 1) {
+                boolean loop = false;
+                for (int target : edges[start]) loop |= target == start;
+
+                if (!loop) continue;
+            }
+
+            // Breadth-first search inside the component, for the shortest path back to the start
+            int[] previous = new int[size];
+            Arrays.fill(previous, -1);
+
+            @NotNull Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+
+            int last = -1;
+
+            search:
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+
+                for (int target : edges[node]) {
+                    if (target == start) {
+                        last = node;
+                        break search;
+                    } else if (component[target] == id && previous[target] == -1) {
+                        previous[target] = node;
+                        queue.add(target);
+                    }
+                }
+            }
+
+            @NotNull LinkedList<Class<?>> cycle = new LinkedList<>();
+            cycle.addFirst(references.get(start));
+
+            for (int node = last; node != start; node = previous[node]) {
+                cycle.addFirst(references.get(node));
+            }
+
+            cycle.addFirst(references.get(start));
+            cycles.add(cycle);
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Checks that there's no dependency cycle between the builders.
+     *
+     * @param builders the builders
+     * @throws InvalidPluginException with the exact path of every cycle found, if any
+     * @see #getCycles(Collection)
+     */
+    public static void checkCycles(@NotNull Collection<@NotNull Builder> builders) {
+        @NotNull List<List<Class<?>>> cycles = getCycles(builders);
+
+        if (!cycles.isEmpty()) {
+            @NotNull String message = cycles.stream()
+                    .map(cycle -> cycle.stream().map(Class::getName).collect(Collectors.joining(" -> ")))
+                    .collect(Collectors.joining("], [", "cyclic dependencies detected: [", "]"));
+
+            throw new InvalidPluginException(cycles.get(0).get(0), message);
+        }
+    }
+
+    // Object
+
+    private final @NotNull Map<Class<?>, Node> nodes = new LinkedHashMap<>();
+    private final @NotNull PriorityQueue<Node> ready = new PriorityQueue<>(Comparator.<Node>comparingInt(node -> node.builder.getPriority()).thenComparingInt(node -> node.index));
+    private final @NotNull Map<Class<?>, List<Node>> waiting = new HashMap<>();
+
+    private int completed = 0;
+
+    public DependencyScheduler() {
+    }
+    public DependencyScheduler(@NotNull Collection<@NotNull Builder> builders) {
+        for (@NotNull Builder builder : builders) {
+            nodes.put(builder.getReference(), new Node(builder, nodes.size()));
+        }
+
+        // Count the dependencies and link the dependants
+        for (@NotNull Node node : nodes.values()) {
+            for (@NotNull Class<?> dependency : node.builder.getDependencies()) {
+                @Nullable Node target = nodes.get(dependency);
+
+                if (target != null && target != node) {
+                    target.dependants.add(node);
+                    node.pending++;
+                } else if (target == node) {
+                    throw new IllegalStateException("cyclic or unresolved dependencies detected: " + node.builder);
+                }
+            }
+
+            if (node.pending == 0) {
+                ready.add(node);
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * @return true if there's a builder ready to be polled
+     */
+    public boolean hasNext() {
+        return !ready.isEmpty();
+    }
+
+    /**
+     * @return true if every builder of this scheduler has been completed
+     */
+    public boolean isDone() {
+        return completed == nodes.size();
+    }
+
+    /**
+     * @return the builders that aren't completed yet
+     */
+    public @Unmodifiable @NotNull Collection<@NotNull Builder> getRemaining() {
+        @NotNull List<Builder> remaining = new LinkedList<>();
+
+        for (@NotNull Node node : nodes.values()) {
+            if (!node.completed) remaining.add(node.builder);
+        }
+
+        return Collections.unmodifiableList(remaining);
+    }
+
+    // Modules
+
+    /**
+     * Adds a builder to the scheduler. Its dependencies that are already completed, or satisfied outside this
+     * scheduler, aren't waited for; the others (including the ones whose builders weren't added yet) must be
+     * completed before it becomes ready.
+     *
+     * @param builder   the builder
+     * @param satisfied tests if a dependency that wasn't added to this scheduler is satisfied outside of it
+     * @throws IllegalArgumentException if the builder is already part of this scheduler
+     * @throws IllegalStateException    if the builder depends on itself
+     */
+    public void add(@NotNull Builder builder, @NotNull Predicate<Class<?>> satisfied) {
+        @NotNull Class<?> reference = builder.getReference();
+
+        if (nodes.containsKey(reference)) {
+            throw new IllegalArgumentException("the builder '" + builder + "' is already part of this scheduler");
+        }
+
+        @NotNull Node node = new Node(builder, nodes.size());
+        nodes.put(reference, node);
+
+        // The builders added before that were waiting for this one
+        @Nullable List<Node> dependants = waiting.remove(reference);
+
+        if (dependants != null) {
+            node.dependants.addAll(dependants);
+        }
+
+        // Count the dependencies
+        for (@NotNull Class<?> dependency : builder.getDependencies()) {
+            @Nullable Node target = nodes.get(dependency);
+
+            if (target == node) {
+                throw new IllegalStateException("cyclic or unresolved dependencies detected: " + builder);
+            } else if (target != null) {
+                if (!target.completed) {
+                    target.dependants.add(node);
+                    node.pending++;
+                }
+            } else if (!satisfied.test(dependency)) {
+                waiting.computeIfAbsent(dependency, key -> new LinkedList<>()).add(node);
+                node.pending++;
+            }
+        }
+
+        if (node.pending == 0) {
+            ready.add(node);
+        }
+    }
+
+    /**
+     * Retrieves and removes the ready builder with the lowest priority.
+     *
+     * @return the next builder
+     * @throws NoSuchElementException if there's no builder ready
+     */
+    public @NotNull Builder next() {
+        @Nullable Node node = ready.poll();
+
+        if (node == null) {
+            throw new NoSuchElementException("there's no ready builder");
+        }
+
+        return node.builder;
+    }
+
+    /**
+     * Marks the builder as completed, the dependants that have no other pending dependency becomes ready.
+     *
+     * @param builder the builder
+     */
+    public void complete(@NotNull Builder builder) {
+        @Nullable Node node = nodes.get(builder.getReference());
+
+        if (node == null) {
+            throw new IllegalArgumentException("the builder '" + builder + "' isn't part of this scheduler");
+        } else if (node.completed) {
+            return;
+        }
+
+        node.completed = true;
+        completed++;
+
+        for (@NotNull Node dependant : node.dependants) {
+            if (--dependant.pending == 0) {
+                ready.add(dependant);
+            }
+        }
+    }
+
+    /**
+     * Orders all the builders by their dependencies and priorities.
+     *
+     * @return the builders in the order they should be started
+     * @throws IllegalStateException if there are cyclic dependencies
+     */
+    public @NotNull List<@NotNull Builder> order() {
+        @NotNull List<Builder> order = new ArrayList<>(nodes.size());
+
+        while (hasNext()) {
+            @NotNull Builder builder = next();
+
+            order.add(builder);
+            complete(builder);
+        }
+
+        if (!isDone()) {
+            throw new IllegalStateException("cyclic or unresolved dependencies detected: " + getRemaining());
+        }
+
+        return order;
+    }
+
+    // Classes
+
+    private static final class Node {
+
+        // Object
+
+        private final @NotNull Builder builder;
+        private final int index;
+
+        private final @NotNull List<Node> dependants = new LinkedList<>();
+
+        private int pending = 0;
+        private boolean completed = false;
+
+        private Node(@NotNull Builder builder, int index) {
+            this.builder = builder;
+            this.index = index;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package codes.laivy.plugin.main;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor used to run the blocking plugin lifecycle work (constructors, initialization and close
+ * methods) when the plugins are started or closed concurrently, the asynchronous loads and the operations with
+ * a timeout.
+ * <p>
+ * This is the Java 8 implementation, backed by a fork-join pool of daemon platform threads, with a parallelism of
+ * the available processors. The pool isn't bounded: a lifecycle task may wait for other lifecycle tasks (e.g. an
+ * asynchronous load waiting for its plugins to start, or an operation waiting for its timeout), those waits are
+ * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker) managed}, so the pool creates a thread for every
+ * blocked one instead of starving, up to the fork-join pool limit. A fixed-size pool would deadlock once all its
+ * threads wait for tasks queued behind them. The multi-release jar ships a Java 21 version of this class at
+ * {@code META-INF/versions/21}, backed by virtual threads.
+ */
+@ApiStatus.Internal
+public final class LifecycleExecutors {
+
+    // Static initializers
+
+    private static volatile @Nullable ExecutorService executor;
+
+    /**
+     * @return the shared lifecycle executor, created at the first call
+     */
+    public static @NotNull ExecutorService getExecutor() {
+        @Nullable ExecutorService executor = LifecycleExecutors.executor;
+
+        if (executor == null) synchronized (LifecycleExecutors.class) {
+            executor = LifecycleExecutors.executor;
+
+            if (executor == null) {
+                executor = create();
+                LifecycleExecutors.executor = executor;
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * @return true if the lifecycle work runs at virtual threads
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    private static @NotNull ExecutorService create() {
+        int size = Math.max(2, Runtime.getRuntime().availableProcessors());
+        @NotNull AtomicInteger count = new AtomicInteger();
+
+        // The fork-join worker threads are daemons, and are released while the pool is idle
+        return new ForkJoinPool(size, pool -> {
+            @NotNull ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Plug-ins Lifecycle #" + count.incrementAndGet());
+
+            return thread;
+        }, null, true);
+    }
+
+    // Object
+
+    private LifecycleExecutors() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+}
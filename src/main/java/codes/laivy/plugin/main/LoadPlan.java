@@ -0,0 +1,307 @@
+package codes.laivy.plugin.main;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A load resolved by a previous run: every plugin class discovered by the scan in dependency order, with the data
+ * needed to create their builders, and a hash of the inputs that resolved it.
+ * <p>
+ * The hash covers the package scope and the scan filters of the finder, and the fingerprint of every classpath root
+ * it scans (the path, size and last modification time of the jars, and of every file inside the directories). While
+ * the hash matches, the finder replays the plan instead of scanning the roots, reading the plugins annotations and
+ * ordering them by their dependencies. The plan is recorded before the predicate, the plugins already loaded and the
+ * category handlers filter the plugins, so the replay applies the ones of its own load. The plan file uses the same
+ * line format as the {@link PluginIndex}:
+ * <pre>{@code
+ * # jplugin load plan v2
+ * hash 5d0f3b2e8a41c7f9
+ * com.acme.Other initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer
+ * com.acme.MyPlugin initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer name=My+Plugin category=Utility dependency=com.acme.Other
+ * }</pre>
+ */
+final class LoadPlan {
+
+    // Static initializers
+
+    private static final @NotNull String HEADER = "# jplugin load plan v2";
+
+    /**
+     * Reads the plan stored at the file, if it was resolved from the same inputs.
+     *
+     * @param file the plan file
+     * @param hash the hash of the current inputs
+     * @return the plan, or null if the file doesn't exist, is corrupted or its hash doesn't match
+     * @throws IOException if the file cannot be read
+     */
+    public static @Nullable LoadPlan read(@NotNull File file, @NotNull String hash) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (@NotNull BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+            if (!HEADER.equals(reader.readLine()) || !("hash " + hash).equals(reader.readLine())) {
+                // Unknown, corrupted or outdated plan, it will be overwritten
+                return null;
+            }
+
+            @NotNull List<Entry> entries = new ArrayList<>();
+            @Nullable String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                @NotNull String[] parts = line.split(" ");
+
+                @Nullable String initializer = null;
+                @Nullable String name = null;
+                @Nullable String description = null;
+                @NotNull List<String> categories = new ArrayList<>();
+                @NotNull List<String> dependencies = new ArrayList<>();
+
+                for (int index = 1; index < parts.length; index++) {
+                    @NotNull String part = parts[index];
+                    int separator = part.indexOf('=');
+
+                    if (separator <= 0) {
+                        continue;
+                    }
+
+                    @NotNull String value = URLDecoder.decode(part.substring(separator + 1), "UTF-8");
+
+                    switch (part.substring(0, separator)) {
+                        case "initializer":
+                            initializer = value;
+                            break;
+                        case "name":
+                            name = value;
+                            break;
+                        case "description":
+                            description = value;
+                            break;
+                        case "category":
+                            categories.add(value);
+                            break;
+                        case "dependency":
+                            dependencies.add(value);
+                            break;
+                    }
+                }
+
+                if (initializer == null) {
+                    return null;
+                }
+
+                entries.add(new Entry(parts[0], initializer, name, description, categories, dependencies));
+            }
+
+            return new LoadPlan(hash, entries);
+        }
+    }
+
+    /**
+     * Computes the hash of the inputs of a load.
+     *
+     * @param roots   the classpath roots scanned by the finder, in the scan order
+     * @param scope   the package scope of the finder
+     * @param filters the filters applied by the scan of the finder
+     * @return the hexadecimal 64-bit FNV-1a hash of the inputs
+     * @throws IOException if a directory cannot be walked
+     */
+    public static @NotNull String hash(@NotNull Collection<@NotNull File> roots, @NotNull String scope, @NotNull String filters) throws IOException {
+        // A non-cryptographic hash, the plan only detects changes and the digest providers are slow to initialize
+        @NotNull Hash digest = new Hash();
+        digest.update(HEADER + '\n' + scope + '\n' + filters + '\n');
+
+        for (@NotNull File root : roots) {
+            digest.update("root " + root.getAbsolutePath() + '\n');
+
+            if (root.isFile()) {
+                digest.update(root.length() + " " + root.lastModified() + '\n');
+            } else if (root.isDirectory()) {
+                @NotNull Path base = root.toPath();
+
+                // Sorted, so the same directory always generates the same hash
+                try (@NotNull Stream<Path> stream = Files.walk(base)) {
+                    for (@NotNull Path path : stream.sorted().collect(Collectors.toList())) {
+                        @NotNull BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+                        if (attributes.isRegularFile()) {
+                            digest.update(base.relativize(path) + " " + attributes.size() + " " + attributes.lastModifiedTime().toMillis() + '\n');
+                        }
+                    }
+                }
+            }
+        }
+
+        return String.format("%016x", digest.value);
+    }
+
+    // Object
+
+    private final @NotNull String hash;
+    private final @NotNull List<Entry> entries;
+
+    public LoadPlan(@NotNull String hash, @NotNull List<Entry> entries) {
+        this.hash = hash;
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    // Getters
+
+    public @NotNull String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return every discovered plugin, in the order they should be started
+     */
+    public @Unmodifiable @NotNull List<@NotNull Entry> getEntries() {
+        return entries;
+    }
+
+    // Modules
+
+    public void save(@NotNull File file) throws IOException {
+        @Nullable File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("cannot create load plan directory: " + parent);
+        }
+
+        // Write to a temporary file and then move it, the plan is never left half-written
+        @NotNull File temporary = new File(file.getPath() + ".tmp");
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temporary.toPath()), StandardCharsets.UTF_8))) {
+            writer.write(HEADER + "\n");
+            writer.write("hash " + hash + "\n");
+
+            for (@NotNull Entry entry : entries) {
+                @NotNull StringBuilder line = new StringBuilder(entry.name);
+                line.append(" initializer=").append(URLEncoder.encode(entry.initializer, "UTF-8"));
+
+                if (entry.pluginName != null) line.append(" name=").append(URLEncoder.encode(entry.pluginName, "UTF-8"));
+                if (entry.description != null) line.append(" description=").append(URLEncoder.encode(entry.description, "UTF-8"));
+
+                for (@NotNull String category : entry.categories) {
+                    line.append(" category=").append(URLEncoder.encode(category, "UTF-8"));
+                }
+                for (@NotNull String dependency : entry.dependencies) {
+                    line.append(" dependency=").append(URLEncoder.encode(dependency, "UTF-8"));
+                }
+
+                writer.write(line.append('\n').toString());
+            }
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (@NotNull AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Implementations
+
+    @Override
+    public @NotNull String toString() {
+        return "LoadPlan{" +
+                "hash='" + hash + '\'' +
+                ", entries=" + entries +
+                '}';
+    }
+
+    // Classes
+
+    private static final class Hash {
+
+        // Object
+
+        private long value = 0xcbf29ce484222325L;
+
+        // Modules
+
+        public void update(@NotNull String string) {
+            for (int index = 0; index < string.length(); index++) {
+                value ^= string.charAt(index);
+                value *= 0x100000001b3L;
+            }
+        }
+
+    }
+    static final class Entry {
+
+        // Object
+
+        private final @NotNull String name;
+        private final @NotNull String initializer;
+
+        private final @Nullable String pluginName;
+        private final @Nullable String description;
+
+        private final @NotNull List<String> categories;
+        private final @NotNull List<String> dependencies;
+
+        public Entry(@NotNull String name, @NotNull String initializer, @Nullable String pluginName, @Nullable String description, @NotNull List<String> categories, @NotNull List<String> dependencies) {
+            this.name = name;
+            this.initializer = initializer;
+            this.pluginName = pluginName;
+            this.description = description;
+            this.categories = Collections.unmodifiableList(categories);
+            this.dependencies = Collections.unmodifiableList(dependencies);
+        }
+
+        // Getters
+
+        /**
+         * @return the binary name of the plugin class
+         */
+        public @NotNull String getName() {
+            return name;
+        }
+        public @NotNull String getInitializer() {
+            return initializer;
+        }
+
+        /**
+         * @return the name declared at the plugin annotation, or null if it doesn't declare one
+         */
+        public @Nullable String getPluginName() {
+            return pluginName;
+        }
+        public @Nullable String getDescription() {
+            return description;
+        }
+
+        public @Unmodifiable @NotNull List<String> getCategories() {
+            return categories;
+        }
+        public @Unmodifiable @NotNull List<String> getDependencies() {
+            return dependencies;
+        }
+
+        // Implementations
+
+        @Override
+        public @NotNull String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,311 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.main.Classes.Archive;
+import codes.laivy.plugin.main.Classes.ClassConsumer;
+import codes.laivy.plugin.main.Classes.PackageFilter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A jar file read through a memory-mapped {@link FileChannel}.
+ * <p>
+ * The central directory and the local headers are parsed directly from the mapped file, without any signature
+ * verification. The class bytes (stored or deflated) are copied or inflated into the thread's reusable buffer
+ * (see {@link Classes#buffer(int)}), so reading the entries doesn't allocate per class.
+ * <p>
+ * Only plain zip files are supported, jars with zip64 records, encrypted entries or larger than 2 GB throws an
+ * {@link IOException} when opened, and should be read using a {@link java.util.jar.JarFile} instead.
+ * <p>
+ * The mapping is released explicitly when the jar is closed, so the file isn't kept mapped (and locked, at Windows)
+ * until the garbage collector frees the buffer. At runtimes where the mapping cannot be released, the jars cannot be
+ * opened either and throws an {@link IOException}.
+ */
+final class MappedJar implements Archive {
+
+    // Static initializers
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_HEADER = 0x06054b50;
+
+    private static final int END_SIZE = 22;
+
+    private static final @NotNull ThreadLocal<byte[]> INPUT = ThreadLocal.withInitial(() -> new byte[8192]);
+    private static final @NotNull ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private static final @Nullable MethodHandle UNMAP = getUnmapper();
+
+    /**
+     * Retrieves the handle that releases a mapped buffer, the {@code Unsafe#invokeCleaner(ByteBuffer)} at Java 9 or
+     * newer and the buffer's {@code cleaner().clean()} at Java 8.
+     *
+     * @return the {@code (ByteBuffer)void} handle, or null if the runtime doesn't support releasing mappings
+     */
+    private static @Nullable MethodHandle getUnmapper() {
+        @NotNull MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            @NotNull Class<?> type = Class.forName("sun.misc.Unsafe");
+            @NotNull Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            return lookup.findVirtual(type, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class)).bindTo(field.get(null));
+        } catch (@NotNull ReflectiveOperationException | @NotNull RuntimeException ignore) {
+            // Java 8
+        }
+
+        try {
+            @NotNull Method cleaner = Class.forName("java.nio.DirectByteBuffer").getMethod("cleaner");
+            cleaner.setAccessible(true);
+            @NotNull Method clean = cleaner.getReturnType().getMethod("clean");
+            clean.setAccessible(true);
+
+            return MethodHandles.filterReturnValue(lookup.unreflect(cleaner), lookup.unreflect(clean)).asType(MethodType.methodType(void.class, ByteBuffer.class));
+        } catch (@NotNull ReflectiveOperationException | @NotNull RuntimeException ignore) {
+            return null;
+        }
+    }
+
+    // Object
+
+    private final @NotNull File file;
+    private final @NotNull MappedByteBuffer buffer;
+
+    private final @NotNull List<Entry> entries = new ArrayList<>();
+
+    private volatile boolean closed = false;
+
+    public MappedJar(@NotNull File file, @NotNull PackageFilter filter) throws IOException {
+        this.file = file;
+
+        if (UNMAP == null) {
+            throw new IOException("the memory mappings cannot be released at this runtime");
+        }
+
+        try (@NotNull FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ZipException("jar file too large to be mapped: " + file);
+            }
+
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        try {
+            readCentralDirectory(filter);
+        } catch (@NotNull IndexOutOfBoundsException | @NotNull IllegalArgumentException e) {
+            close();
+            throw new ZipException("malformed jar file: " + file);
+        } catch (@NotNull IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // Getters
+
+    public @NotNull File getFile() {
+        return file;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    // Modules
+
+    @Override
+    public void read(int index, @NotNull ClassConsumer consumer) throws IOException {
+        @NotNull Entry entry = entries.get(index);
+
+        // Reading a released mapping crashes the virtual machine
+        if (closed) {
+            throw new IOException("the mapped jar file is closed: " + file);
+        }
+
+        // Each thread has its own view of the mapped buffer
+        @NotNull ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (view.getInt(entry.offset) != LOCAL_HEADER) {
+            throw new ZipException("invalid local header of entry '" + entry.name + "' at jar: " + file);
+        }
+
+        int data = entry.offset + 30 + (view.getShort(entry.offset + 26) & 0xFFFF) + (view.getShort(entry.offset + 28) & 0xFFFF);
+        view.position(data);
+
+        if (entry.method == 0) {
+            // Stored
+            byte[] bytes = Classes.buffer(entry.size);
+            view.get(bytes, 0, entry.size);
+
+            consumer.accept(getClassName(entry), bytes, entry.size);
+        } else if (entry.method == 8) {
+            // Deflated
+            byte[] input = INPUT.get();
+
+            if (input.length < entry.compressed + 1) {
+                input = new byte[Math.max(entry.compressed + 1, input.length * 2)];
+                INPUT.set(input);
+            }
+
+            // The raw (nowrap) inflater needs an extra dummy byte at the end of the input
+            view.get(input, 0, entry.compressed);
+            input[entry.compressed] = 0;
+
+            byte[] bytes = Classes.buffer(entry.size);
+            @NotNull Inflater inflater = INFLATER.get();
+
+            try {
+                inflater.reset();
+                inflater.setInput(input, 0, entry.compressed + 1);
+
+                int length = 0;
+                while (length < entry.size && !inflater.finished()) {
+                    int inflated = inflater.inflate(bytes, length, entry.size - length);
+
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+
+                    length += inflated;
+                }
+
+                if (length != entry.size) {
+                    throw new ZipException("invalid compressed data of entry '" + entry.name + "' at jar: " + file);
+                }
+            } catch (@NotNull DataFormatException e) {
+                throw new ZipException("invalid compressed data of entry '" + entry.name + "' at jar: " + file);
+            }
+
+            consumer.accept(getClassName(entry), bytes, entry.size);
+        } else {
+            throw new ZipException("unsupported compression method " + entry.method + " of entry '" + entry.name + "' at jar: " + file);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        // The entries are only read by the visit that opened the jar, so none is being read anymore
+        closed = true;
+
+        try {
+            //noinspection ConstantConditions
+            UNMAP.invoke(buffer);
+        } catch (@NotNull Throwable throwable) {
+            throw new IOException("cannot release the mapping of jar: " + file, throwable);
+        }
+    }
+
+    // Utilities
+
+    private void readCentralDirectory(@NotNull PackageFilter filter) throws IOException {
+        // Find the end of central directory record, it can be followed by a comment of up to 65535 bytes
+        int end = -1;
+
+        for (int position = buffer.limit() - END_SIZE; position >= Math.max(0, buffer.limit() - END_SIZE - 0xFFFF); position--) {
+            if (buffer.getInt(position) == END_HEADER) {
+                end = position;
+                break;
+            }
+        }
+
+        if (end < 0) {
+            throw new ZipException("cannot find the end of central directory of jar: " + file);
+        }
+
+        int total = buffer.getShort(end + 10) & 0xFFFF;
+        long offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+
+        if (total == 0xFFFF || offset == 0xFFFFFFFFL) {
+            throw new ZipException("zip64 jar files aren't supported: " + file);
+        }
+
+        // Read the central directory headers
+        int position = (int) offset;
+
+        for (int index = 0; index < total; index++) {
+            if (buffer.getInt(position) != CENTRAL_HEADER) {
+                throw new ZipException("invalid central directory header at jar: " + file);
+            }
+
+            int flags = buffer.getShort(position + 8) & 0xFFFF;
+            int method = buffer.getShort(position + 10) & 0xFFFF;
+            long compressed = buffer.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+            int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+            int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+            long local = buffer.getInt(position + 42) & 0xFFFFFFFFL;
+
+            byte[] bytes = new byte[nameLength];
+            @NotNull ByteBuffer view = buffer.duplicate();
+            view.position(position + 46);
+            view.get(bytes);
+
+            @NotNull String name = new String(bytes, StandardCharsets.UTF_8);
+
+            if (Classes.isClass(name) && filter.isWithin(Classes.getPackage(name))) {
+                if ((flags & 1) != 0) {
+                    throw new ZipException("encrypted entries aren't supported: " + name);
+                } else if (compressed == 0xFFFFFFFFL || size == 0xFFFFFFFFL || local == 0xFFFFFFFFL) {
+                    throw new ZipException("zip64 jar files aren't supported: " + file);
+                }
+
+                entries.add(new Entry(name, method, (int) compressed, (int) size, (int) local));
+            }
+
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+    }
+
+    private static @NotNull String getClassName(@NotNull Entry entry) {
+        return Classes.getClassName(entry.name);
+    }
+
+    // Classes
+
+    private static final class Entry {
+
+        // Object
+
+        private final @NotNull String name;
+        private final int method;
+        private final int compressed;
+        private final int size;
+        private final int offset;
+
+        private Entry(@NotNull String name, int method, int compressed, int size, int offset) {
+            this.name = name;
+            this.method = method;
+            this.compressed = compressed;
+            this.size = size;
+            this.offset = offset;
+        }
+
+    }
+
+}
@@ -1,16 +1,18 @@
 package codes.laivy.plugin.main;
 
+import codes.laivy.plugin.PluginDescriptor;
 import codes.laivy.plugin.PluginInfo;
 import codes.laivy.plugin.PluginInfo.Builder;
-import codes.laivy.plugin.annotation.Plugin;
 import codes.laivy.plugin.category.AbstractPluginCategory;
 import codes.laivy.plugin.category.PluginCategory;
 import codes.laivy.plugin.exception.PluginInitializeException;
 import codes.laivy.plugin.exception.PluginInterruptException;
 import codes.laivy.plugin.factory.PluginFactory;
 import codes.laivy.plugin.factory.PluginFinder;
+import codes.laivy.plugin.factory.PluginFinder.TimeoutPolicy;
 import codes.laivy.plugin.factory.handlers.Handlers;
 import codes.laivy.plugin.factory.handlers.PluginHandler;
+import codes.laivy.plugin.initializer.PluginInitializer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,8 +20,14 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 final class PluginFactoryImpl implements PluginFactory {
@@ -37,10 +45,19 @@ final class PluginFactoryImpl implements PluginFactory {
 
     // Object
 
-    private final @NotNull Map<String, PluginCategory> categories = new HashMap<>();
+    private final @NotNull Map<String, PluginCategory> categories = new ConcurrentHashMap<>();
     private final @NotNull Handlers handlers = Handlers.create();
+    private final @NotNull Map<Class<? extends PluginInitializer>, PluginInitializer> initializers = new ConcurrentHashMap<>();
 
-    final @NotNull Map<Class<?>, PluginInfo> plugins = new LinkedHashMap<>();
+    final @NotNull PluginRegistry plugins = new PluginRegistry();
+    private final @NotNull Map<Class<?>, Set<CompletableFuture<PluginInfo>>> awaiting = new ConcurrentHashMap<>();
+
+    // The failures of the plugins that weren't started by their last load, until they're built again
+    final @NotNull Map<Class<?>, PluginInitializeException> unstarted = new ConcurrentHashMap<>();
+
+    // Lazy plugins waiting to be activated, with the start settings of their load
+    private final @NotNull Map<Class<?>, Activation> lazy = new ConcurrentHashMap<>();
+    final @NotNull ThreadLocal<Boolean> activation = ThreadLocal.withInitial(() -> true);
 
     public PluginFactoryImpl() {
         // Default categories
@@ -83,11 +100,17 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public @NotNull PluginInfo retrieve(@NotNull Class<?> reference) {
-        @Nullable PluginInfo info = plugins.getOrDefault(reference, null);
+        @Nullable PluginInfo info = plugins.get(reference);
 
         if (info != null) {
+            if (activation.get() && lazy.containsKey(reference)) try {
+                activate(reference);
+            } catch (@NotNull PluginInitializeException e) {
+                throw new IllegalStateException("cannot activate lazy plugin '" + reference.getName() + "'", e);
+            }
+
             return info;
-        } else if (reference.isAnnotationPresent(Plugin.class)) {
+        } else if (PluginDescriptor.of(reference).isPlugin()) {
             throw new IllegalArgumentException("the plugin '" + reference.getName() + "' isn't initialized yet");
         } else {
             throw new IllegalArgumentException("the reference '" + reference.getName() + "' isn't a plugin");
@@ -95,7 +118,13 @@ final class PluginFactoryImpl implements PluginFactory {
     }
     @Override
     public @NotNull PluginInfo retrieve(@NotNull String name) {
-        return plugins.values().stream().filter(plugin -> Objects.equals(plugin.getName(), name)).findFirst().orElseThrow(() -> new IllegalArgumentException("there's no plugin with name '" + name + "'"));
+        @Nullable PluginInfo info = plugins.get(name);
+
+        if (info == null) {
+            throw new IllegalArgumentException("there's no plugin with name '" + name + "'");
+        }
+
+        return retrieve(info.getReference());
     }
 
     @Override
@@ -107,12 +136,12 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public @NotNull PluginCategory getCategory(@NotNull String name) {
-        return categories.computeIfAbsent(name.toLowerCase(), k -> new AbstractPluginCategory(name) {});
+        return categories.computeIfAbsent(name.toLowerCase(), k -> register(new AbstractPluginCategory(name) {}));
     }
     @Override
     public @NotNull Optional<PluginCategory> getCategory(@NotNull String name, boolean create) {
         if (create) {
-            return Optional.of(categories.computeIfAbsent(name.toLowerCase(), k -> new AbstractPluginCategory(name) {}));
+            return Optional.of(categories.computeIfAbsent(name.toLowerCase(), k -> register(new AbstractPluginCategory(name) {})));
         } else {
             return Optional.ofNullable(categories.getOrDefault(name.toLowerCase(), null));
         }
@@ -124,7 +153,61 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public void setCategory(@NotNull PluginCategory category) {
-        categories.put(category.getName().toLowerCase(), category);
+        categories.put(category.getName().toLowerCase(), register(category));
+    }
+    private @NotNull PluginCategory register(@NotNull PluginCategory category) {
+        // The members of the category are indexed by this factory
+        if (category instanceof AbstractPluginCategory) {
+            ((AbstractPluginCategory) category).setFactory(this);
+        }
+
+        return category;
+    }
+
+    @Override
+    public @NotNull Collection<@NotNull PluginInfo> getPlugins(@NotNull PluginCategory category) {
+        return plugins.getPlugins(category);
+    }
+    @Override
+    public void categorize(@NotNull PluginInfo plugin, @NotNull PluginCategory category, boolean member) {
+        plugins.categorize(plugin, category, member);
+    }
+
+    // Initializers
+
+    @Override
+    public <T extends PluginInitializer> @NotNull T getInitializer(@NotNull Class<T> type) {
+        @Nullable PluginInitializer initializer = initializers.get(type);
+
+        if (initializer == null) {
+            // Not computed inside the map, the constructor may use this factory
+            @Nullable PluginInitializer previous = initializers.putIfAbsent(type, initializer = create(type));
+            if (previous != null) initializer = previous;
+        }
+
+        return type.cast(initializer);
+    }
+    @Override
+    public <T extends PluginInitializer> void setInitializer(@NotNull Class<T> type, @NotNull T initializer) {
+        initializers.put(type, initializer);
+    }
+
+    private static <T extends PluginInitializer> @NotNull T create(@NotNull Class<T> type) {
+        try {
+            // Constructor
+            @NotNull Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            return constructor.newInstance();
+        } catch (@NotNull InvocationTargetException e) {
+            throw new RuntimeException("cannot execute plugin loader's constructor: " + type, e);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("cannot find plugin loader's empty declared constructor: " + type, e);
+        } catch (InstantiationException e) {
+            throw new RuntimeException("cannot instantiate plugin loader: " + type, e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("cannot access plugin loader's constructor: " + type, e);
+        }
     }
 
     // Instances
@@ -141,7 +224,7 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public void interrupt(@NotNull ClassLoader loader, @NotNull String packge, boolean recursive) throws PluginInterruptException {
-        @NotNull List<PluginInfo> plugins = new LinkedList<>(PluginFactoryImpl.this.plugins.values());
+        @NotNull List<PluginInfo> plugins = new ArrayList<>(PluginFactoryImpl.this.plugins.values());
         Collections.reverse(plugins);
 
         for (@NotNull PluginInfo info : plugins) {
@@ -203,7 +286,7 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public void interrupt(@NotNull ClassLoader loader) throws PluginInterruptException {
-        @NotNull List<PluginInfo> plugins = new LinkedList<>(PluginFactoryImpl.this.plugins.values());
+        @NotNull List<PluginInfo> plugins = new ArrayList<>(PluginFactoryImpl.this.plugins.values());
         Collections.reverse(plugins);
 
         for (@NotNull PluginInfo info : plugins) {
@@ -231,7 +314,7 @@ final class PluginFactoryImpl implements PluginFactory {
     }
     @Override
     public void interruptAll() throws PluginInterruptException {
-        @NotNull List<PluginInfo> plugins = new LinkedList<>(PluginFactoryImpl.this.plugins.values());
+        @NotNull List<PluginInfo> plugins = new ArrayList<>(PluginFactoryImpl.this.plugins.values());
         Collections.reverse(plugins);
 
         for (@NotNull PluginInfo info : plugins) {
@@ -239,6 +322,99 @@ final class PluginFactoryImpl implements PluginFactory {
         }
     }
 
+    // Asynchronous initialization and interruption
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull PluginInfo> await(@NotNull Class<?> reference) {
+        @NotNull CompletableFuture<PluginInfo> future = new CompletableFuture<>();
+
+        awaiting.compute(reference, (key, futures) -> {
+            if (futures == null) futures = ConcurrentHashMap.newKeySet();
+            futures.add(future);
+
+            return futures;
+        });
+
+        // Released once completed, including when the caller cancels it
+        future.whenComplete((plugin, throwable) -> awaiting.computeIfPresent(reference, (key, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        }));
+
+        // Already running or failed, it may have happened before the future was registered
+        @Nullable PluginInfo info = plugins.get(reference);
+        @Nullable PluginInitializeException exception = unstarted.get(reference);
+
+        if (info != null && info.getState() == PluginInfo.State.RUNNING) {
+            future.complete(info);
+        } else if (exception != null) {
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    void started(@NotNull PluginInfo plugin) {
+        unstarted.remove(plugin.getReference());
+
+        @Nullable Set<CompletableFuture<PluginInfo>> futures = awaiting.remove(plugin.getReference());
+        if (futures != null) futures.forEach(future -> future.complete(plugin));
+    }
+    void failed(@NotNull Class<?> reference, @NotNull PluginInitializeException exception) {
+        unstarted.put(reference, exception);
+
+        @Nullable Set<CompletableFuture<PluginInfo>> futures = awaiting.remove(reference);
+        if (futures != null) futures.forEach(future -> future.completeExceptionally(exception));
+    }
+
+    // Lazy activation
+
+    /**
+     * Registers a lazy plugin, to be started when it's retrieved for the first time.
+     *
+     * @param plugin        the plugin
+     * @param loadedPlugins the plugins of the shutdown hook of its load
+     * @param timeout       the effective start timeout of its load, or null if there's no timeout
+     * @param policy        the timeout policy of its load
+     */
+    void lazy(@NotNull PluginInfo plugin, @NotNull Set<PluginInfo> loadedPlugins, @Nullable Duration timeout, @NotNull TimeoutPolicy policy) {
+        lazy.put(plugin.getReference(), new Activation(plugin, loadedPlugins, timeout, policy));
+    }
+
+    /**
+     * Starts the lazy plugin of the given reference and its lazy dependencies, if it's still waiting to be
+     * activated. Does nothing for plugins that aren't lazy or were already activated.
+     * <p>
+     * Each plugin is claimed by the first thread activating it, the other threads wait for that activation. The
+     * start uses the timeout and the timeout policy of the load that found the plugin: with the
+     * {@link TimeoutPolicy#CONTINUE} policy, a timed out plugin stays at the FAILED state and its lazy dependants
+     * aren't started, without failing the activation.
+     *
+     * @param reference the plugin class
+     * @throws PluginInitializeException if the plugin or one of its dependencies cannot be started
+     */
+    void activate(@NotNull Class<?> reference) throws PluginInitializeException {
+        @Nullable Activation activation = lazy.get(reference);
+
+        if (activation == null) {
+            return;
+        } else if (!activation.claim()) {
+            activation.await();
+            return;
+        }
+
+        try {
+            activation.start();
+            lazy.remove(reference, activation);
+            activation.done.complete(null);
+        } catch (@NotNull Throwable throwable) {
+            lazy.remove(reference, activation);
+            activation.done.completeExceptionally(throwable);
+
+            throw throwable;
+        }
+    }
+
     // Finders
 
     @Override
@@ -250,15 +426,109 @@ final class PluginFactoryImpl implements PluginFactory {
 
     @Override
     public @NotNull Iterator<PluginInfo> iterator() {
-        return plugins.values().iterator();
+        return plugins.iterator();
     }
     @Override
     public @NotNull Stream<PluginInfo> stream() {
-        return plugins.values().stream();
+        return plugins.stream();
     }
 
     // Classes
 
+    private final class Activation {
+
+        // Object
+
+        private final @NotNull PluginInfo plugin;
+        private final @NotNull Set<PluginInfo> loadedPlugins;
+        private final @Nullable Duration timeout;
+        private final @NotNull TimeoutPolicy policy;
+
+        private final @NotNull AtomicReference<Thread> owner = new AtomicReference<>();
+        private final @NotNull CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Activation(@NotNull PluginInfo plugin, @NotNull Set<PluginInfo> loadedPlugins, @Nullable Duration timeout, @NotNull TimeoutPolicy policy) {
+            this.plugin = plugin;
+            this.loadedPlugins = loadedPlugins;
+            this.timeout = timeout;
+            this.policy = policy;
+        }
+
+        // Modules
+
+        private boolean claim() {
+            return owner.compareAndSet(null, Thread.currentThread());
+        }
+        private void await() throws PluginInitializeException {
+            if (owner.get() == Thread.currentThread()) {
+                // Retrieved again by its own activation
+                return;
+            }
+
+            try {
+                done.get();
+            } catch (@NotNull InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PluginInitializeException(plugin.getReference(), "interrupted while waiting for the plugin activation", e);
+            } catch (@NotNull ExecutionException e) {
+                if (e.getCause() instanceof PluginInitializeException) {
+                    throw (PluginInitializeException) e.getCause();
+                } else {
+                    throw new PluginInitializeException(plugin.getReference(), "cannot activate lazy plugin", e.getCause());
+                }
+            }
+        }
+
+        private void start() throws PluginInitializeException {
+            @NotNull Class<?> reference = plugin.getReference();
+
+            if (!plugin.getState().isIdle()) {
+                // Started by someone else
+                return;
+            }
+
+            // Dependencies first
+            for (@NotNull PluginInfo dependency : plugin.getDependencies()) {
+                activate(dependency.getReference());
+
+                if (dependency.getState() == PluginInfo.State.FAILED) {
+                    // Timed out with the continue policy
+                    failed(reference, new PluginInitializeException(reference, "the dependency '" + dependency.getReference().getName() + "' wasn't started"));
+                    return;
+                }
+            }
+
+            try {
+                Deadlines.run(plugin, "start", timeout, plugin::start);
+            } catch (@NotNull Throwable throwable) {
+                @NotNull PluginInitializeException exception;
+
+                if (throwable instanceof PluginInitializeException) {
+                    exception = (PluginInitializeException) throwable;
+                } else if (throwable instanceof TimeoutException) {
+                    exception = new PluginInitializeException(reference, throwable.getMessage(), throwable);
+                } else {
+                    exception = new PluginInitializeException(reference, "cannot initialize plugin correctly", throwable);
+                }
+
+                failed(reference, exception);
+
+                if (policy == TimeoutPolicy.CONTINUE && throwable instanceof TimeoutException) {
+                    return;
+                }
+
+                throw exception;
+            }
+
+            if (plugin.isAutoClose()) {
+                loadedPlugins.add(plugin);
+            }
+
+            started(plugin);
+        }
+
+    }
+
     private final class AutoRegisterPluginCategory extends AbstractPluginCategory {
 
         // Object
@@ -284,7 +554,7 @@ final class PluginFactoryImpl implements PluginFactory {
             }
 
             @NotNull PluginCategory category = (PluginCategory) instance;
-            categories.put(category.getName().toLowerCase(), category);
+            categories.put(category.getName().toLowerCase(), register(category));
         }
         @Override
         public void close(@NotNull PluginInfo info) throws PluginInterruptException {
@@ -1,5 +1,7 @@
 package codes.laivy.plugin.main;
 
+import codes.laivy.plugin.PluginBootstrap;
+import codes.laivy.plugin.PluginDescriptor;
 import codes.laivy.plugin.PluginInfo;
 import codes.laivy.plugin.PluginInfo.Builder;
 import codes.laivy.plugin.PluginInfo.State;
@@ -12,8 +14,10 @@ import codes.laivy.plugin.exception.InvalidPluginException;
 import codes.laivy.plugin.exception.PluginInitializeException;
 import codes.laivy.plugin.exception.PluginInterruptException;
 import codes.laivy.plugin.factory.PluginFinder;
+import codes.laivy.plugin.factory.PluginFinder.TimeoutPolicy;
+import codes.laivy.plugin.factory.StartupReport;
+import codes.laivy.plugin.factory.StartupReport.Phase;
 import codes.laivy.plugin.factory.handlers.PluginHandler;
-import codes.laivy.plugin.initializer.ConstructorPluginInitializer;
 import codes.laivy.plugin.initializer.PluginInitializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,22 +25,50 @@ import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 final class PluginFinderImpl implements PluginFinder {
 
+    // Static initializers
+
+    private static final @NotNull Object END = new Object();
+    private static final byte @NotNull [] PLUGIN_DESCRIPTOR = Type.getDescriptor(Plugin.class).getBytes(StandardCharsets.UTF_8);
+
+    // The annotation descriptors read by the class visitor
+    private static final @NotNull String PLUGIN_ANNOTATION = Type.getDescriptor(Plugin.class);
+    private static final @NotNull String CATEGORY_ANNOTATION = Type.getDescriptor(Category.class);
+    private static final @NotNull String INITIALIZER_ANNOTATION = Type.getDescriptor(Initializer.class);
+    private static final @NotNull String DEPENDENCY_ANNOTATION = Type.getDescriptor(Dependency.class);
+
     // Object
 
     private final @NotNull PluginFactoryImpl factory;
@@ -56,6 +88,25 @@ final class PluginFinderImpl implements PluginFinder {
 
     private volatile boolean shutdownHook = true;
 
+    private volatile @Nullable File cache = null;
+    private volatile boolean checksum = false;
+
+    private volatile @Nullable File plan = null;
+
+    private volatile int parallelism = 1;
+    private volatile boolean mapped = false;
+
+    private volatile @Nullable Executor executor = null;
+    private volatile boolean concurrent = false;
+    private volatile boolean lazy = false;
+
+    private volatile boolean allocations = false;
+    private volatile @Nullable StartupReport report = null;
+
+    private volatile @Nullable Duration startTimeout = null;
+    private volatile @Nullable Duration closeTimeout = null;
+    private volatile @NotNull TimeoutPolicy policy = TimeoutPolicy.ABORT;
+
     public PluginFinderImpl(@NotNull PluginFactoryImpl factory) {
         this.factory = factory;
     }
@@ -299,6 +350,86 @@ final class PluginFinderImpl implements PluginFinder {
         return this;
     }
 
+    @Override
+    public @NotNull PluginFinder setCache(@Nullable File cache) {
+        return setCache(cache, false);
+    }
+    @Override
+    public @NotNull PluginFinder setCache(@Nullable File cache, boolean checksum) {
+        this.cache = cache;
+        this.checksum = checksum;
+
+        return this;
+    }
+
+    @Override
+    public @NotNull PluginFinder setLoadPlan(@Nullable File plan) {
+        this.plan = plan;
+        return this;
+    }
+
+    @Override
+    public @NotNull PluginFinder setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("the parallelism level must be at least 1: " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setMemoryMapped(boolean mapped) {
+        this.mapped = mapped;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setAllocationTracking(boolean allocations) {
+        this.allocations = allocations;
+        return this;
+    }
+    @Override
+    public @Nullable StartupReport getStartupReport() {
+        return report;
+    }
+    @Override
+    public @NotNull PluginFinder setStartTimeout(@Nullable Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("the start timeout must be positive");
+        }
+
+        this.startTimeout = timeout;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setCloseTimeout(@Nullable Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("the close timeout must be positive");
+        }
+
+        this.closeTimeout = timeout;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setTimeoutPolicy(@NotNull TimeoutPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+    @Override
+    public @NotNull PluginFinder setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
     // Query
 
     @SuppressWarnings("RedundantIfStatement")
@@ -331,17 +462,19 @@ final class PluginFinderImpl implements PluginFinder {
     @SuppressWarnings("RedundantIfStatement")
     @Override
     public boolean matches(@NotNull Class<?> reference) {
-        if (!reference.isAnnotationPresent(Plugin.class)) {
+        @NotNull PluginDescriptor descriptor = PluginDescriptor.of(reference);
+
+        if (!descriptor.isPlugin()) {
             return false;
         }
 
         @NotNull ClassLoader classLoader = reference.getClassLoader();
-        @NotNull Set<String> categories = Arrays.stream(reference.getAnnotationsByType(Category.class)).map(Category::value).map(String::toLowerCase).collect(Collectors.toSet());
+        @NotNull Set<String> categories = descriptor.getCategories().stream().map(String::toLowerCase).collect(Collectors.toSet());
         @NotNull String packge = reference.getPackage().getName();
-        @NotNull Class<? extends PluginInitializer> initializer = reference.isAnnotationPresent(Initializer.class) ? reference.getAnnotation(Initializer.class).type() : ConstructorPluginInitializer.class;
-        @NotNull String name = reference.getAnnotation(Plugin.class).name();
-        @NotNull String description = reference.getAnnotation(Plugin.class).description();
-        @NotNull Set<Class<?>> dependencies = Arrays.stream(reference.getAnnotationsByType(Dependency.class)).map(Dependency::type).collect(Collectors.toSet());
+        @NotNull Class<? extends PluginInitializer> initializer = descriptor.getInitializer();
+        @NotNull String name = descriptor.getName() != null ? descriptor.getName() : "";
+        @NotNull String description = descriptor.getDescription() != null ? descriptor.getDescription() : "";
+        @NotNull Set<Class<?>> dependencies = descriptor.getDependencies();
 
         if (!classLoaders.isEmpty() && classLoaders.contains(classLoader)) {
             return false;
@@ -379,446 +512,1245 @@ final class PluginFinderImpl implements PluginFinder {
     }
     @Override
     public @NotNull Class<?> @NotNull [] classes() throws IOException {
+        @NotNull Set<@NotNull Class<?>> references = ConcurrentHashMap.newKeySet();
+        discover(references::add, Collections.emptySet());
+
+        return references.toArray(new Class[0]);
+    }
+    @Override
+    public @NotNull Stream<@NotNull Class<?>> discover() {
+        @NotNull Discovery discovery = new Discovery();
+        discovery.start();
+
+        return StreamSupport.stream(discovery, false).onClose(discovery::cancel);
+    }
+
+    /**
+     * Scans the compile-time indexes and the roots, passing every plugin class to the consumer as soon as it's found.
+     * Each class is passed only once, and the consumer may be called concurrently when the parallelism level is
+     * greater than 1.
+     *
+     * @param consumer the consumer of the plugin classes
+     * @param excluded the roots that aren't scanned nor have their indexes read, the ones with a generated bootstrap
+     * @throws IOException if an I/O error occurs while scanning
+     */
+    private void discover(@NotNull Consumer<@NotNull Class<?>> consumer, @NotNull Set<@NotNull File> excluded) throws IOException {
         // Variables
-        @NotNull Set<@NotNull Class<?>> references = new HashSet<>();
+        @NotNull Set<@NotNull Class<?>> discovered = ConcurrentHashMap.newKeySet();
+        @NotNull Consumer<@NotNull Class<?>> references = reference -> {
+            if (discovered.add(reference)) {
+                consumer.accept(reference);
+            }
+        };
+        @NotNull Set<@NotNull File> indexed = new HashSet<>(excluded);
 
-        // Collect all references
-        Classes.getAllTypeClassesWithVisitor(new BiConsumer<String, InputStream>() {
-            @Override
-            public void accept(@NotNull String name, @NotNull InputStream stream) {
-                @NotNull String packge = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : "";
+        // Collect the references listed at the compile-time indexes
+        for (@NotNull ClassLoader loader : classLoaders.isEmpty() ? Collections.singleton(ClassLoader.getSystemClassLoader()) : classLoaders) {
+            for (@NotNull URL url : getResources(loader, PluginIndex.LOCATION)) {
+                @Nullable File root = PluginIndex.getRoot(url);
 
-                if (!checkPackageWithin(packge)) {
-                    return;
+                if (root != null && !indexed.add(root)) {
+                    continue;
                 }
 
-                try {
-                    @NotNull Class<?> reference = Class.forName(name, false, ClassLoader.getSystemClassLoader());
-
-                    if (reference.isAnnotationPresent(Plugin.class) && (classLoaders.isEmpty() || classLoaders.contains(reference.getClassLoader()))) {
-                        references.add(reference);
+                for (@NotNull PluginIndex.Entry entry : PluginIndex.read(url)) {
+                    if (!checkPackageWithin(entry.getPackage())) {
+                        continue;
                     }
-                } catch (@NotNull ClassNotFoundException | @NotNull NoClassDefFoundError e) {
+
                     try {
-                        @NotNull AtomicBoolean plugin = new AtomicBoolean(false);
-                        @NotNull AtomicBoolean valid = new AtomicBoolean(true);
+                        @NotNull Class<?> reference = Class.forName(entry.getName(), false, loader);
 
-                        @NotNull ClassReader reader = new ClassReader(stream);
-                        @NotNull ClassVisitor visitor = new ClassVisitor(Opcodes.ASM9) {
-                            @Override
-                            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-                                if (valid.get()) {
-                                    return new AnnotationVisitor(Opcodes.ASM9) {
-                                        @Override
-                                        public void visit(String name, Object value) {
-                                            if (descriptor.contains(Plugin.class.getName().replace('.', '/'))) {
-                                                plugin.set(true);
-
-                                                if (!names.isEmpty() && name.equals("name") && !names.contains(value.toString())) {
-                                                    valid.set(false);
-                                                } else if (!descriptions.isEmpty() && name.equals("description") && !descriptions.contains(value.toString())) {
-                                                    valid.set(false);
-                                                }
-                                            } else if (descriptor.contains(Category.class.getName().replace('.', '/'))) {
-                                                if (!categories.isEmpty() && name.equals("name") && categories.stream().noneMatch(category -> category.equalsIgnoreCase(value.toString()))) {
-                                                    valid.set(false);
-                                                }
-                                            } else if (descriptor.contains(Initializer.class.getName().replace('.', '/'))) {
-                                                //noinspection unchecked
-                                                if (!initializers.isEmpty() && name.equals("type") && !initializers.contains((Class<? extends PluginInitializer>) value)) {
-                                                    valid.set(false);
-                                                }
-                                            } else if (descriptor.contains(Dependency.class.getName().replace('.', '/'))) {
-                                                if (!dependencies.isEmpty() && name.equals("type") && !dependencies.contains((Class<?>) value)) {
-                                                    valid.set(false);
-                                                }
-                                            }
-
-                                            super.visit(name, value);
-                                        }
-                                    };
-                                }
+                        if (PluginDescriptor.of(reference).isPlugin() && (classLoaders.isEmpty() || classLoaders.contains(reference.getClassLoader()))) {
+                            references.accept(reference);
+                        }
+                    } catch (@NotNull ClassNotFoundException | @NotNull NoClassDefFoundError ignore) {
+                        // Outdated index entry
+                    }
+                }
+            }
+        }
 
-                                return super.visitAnnotation(descriptor, visible);
-                            }
-                        };
+        // Collect all references from the roots without index, using the scan cache for unchanged jars
+        @Nullable ScanCache cache = this.cache != null ? ScanCache.load(this.cache, checksum) : null;
+        @NotNull String scope = getScope();
 
-                        reader.accept(visitor, 0);
+        @NotNull Map<File, Optional<ClassLoader>> roots = getRoots();
+        roots.keySet().removeAll(indexed);
 
-                        if (plugin.get() && valid.get()) {
-                            //noinspection deprecation
-                            references.add(Classes.define(reader.b));
-                        }
-                    } catch (@NotNull IOException ignore) {
+        if (parallelism > 1) {
+            // Every root is a fork-join task, and large roots are split again by the visitor
+            try {
+                Classes.getPool(parallelism).invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(roots.entrySet().stream().map(root -> new RecursiveAction() {
+                            @Override
+                            protected void compute() {
+                                try {
+                                    scan(root.getKey(), root.getValue().orElse(null), cache, scope, references, true);
+                                } catch (@NotNull IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            }
+                        }).collect(Collectors.toList()));
                     }
-                }
+                });
+            } catch (@NotNull UncheckedIOException e) {
+                throw e.getCause();
             }
-        });
+        } else for (@NotNull Entry<File, Optional<ClassLoader>> root : roots.entrySet()) {
+            scan(root.getKey(), root.getValue().orElse(null), cache, scope, references, false);
+        }
 
-        // Load references
-        return references.toArray(new Class[0]);
+        if (cache != null) {
+            cache.save();
+        }
     }
 
     // Load
 
     @Override
     public @NotNull PluginInfo @NotNull [] load(@NotNull Predicate<Class<?>> predicate) throws PluginInitializeException, IOException {
+        @NotNull StartupProfiler profiler = new StartupProfiler(allocations);
+        this.report = profiler;
+
+        try {
+            return load(predicate, profiler);
+        } finally {
+            profiler.finish();
+        }
+    }
+    private @NotNull PluginInfo @NotNull [] load(@NotNull Predicate<Class<?>> predicate, @NotNull StartupProfiler profiler) throws PluginInitializeException, IOException {
         // Variables
         @NotNull Map<Class<?>, Builder> builders = new LinkedHashMap<>();
         @NotNull Map<Class<?>, PluginInfo> plugins = new LinkedHashMap<>();
-        @NotNull Map<Builder, Collection<PluginCategory>> categories = new HashMap<>();
 
-        // Create the builder instances
-        // This create the instance without checking for categories and dependencies.
+        // Generated bootstraps, loaded first so their direct constructor calls are used even when replaying a plan
+        long lookup = System.nanoTime();
+        @NotNull Map<PluginBootstrap, Optional<File>> bootstraps = getBootstraps();
+        profiler.scan(System.nanoTime() - lookup);
 
-        main:
-        for (@NotNull Class<?> reference : classes()) {
-            // Verifications
-            {
-                // Check if predicate validates it
-                if (!predicate.test(reference)) {
-                    continue;
-                } else if (factory.plugins.containsKey(reference) && !factory.plugins.get(reference).getState().isIdle()) {
-                    continue;
-                }
+        // Replay the load plan, if the inputs didn't change since it was recorded
+        @Nullable File file = this.plan;
+        @Nullable String hash = null;
+        @Nullable List<Builder> order = null;
 
-                // Check if it's an inner and non-class
-                if (reference.getEnclosingClass() != null && !Modifier.isStatic(reference.getModifiers())) {
-                    throw new InvalidPluginException(reference, "a non-static inner class cannot be a plugin, the class should be at least static");
-                }
+        if (file != null) {
+            long scan = System.nanoTime();
+            hash = LoadPlan.hash(getRoots().keySet(), getScope(), getFilters());
+
+            @Nullable LoadPlan plan = LoadPlan.read(file, hash);
+            profiler.scan(System.nanoTime() - scan);
+
+            if (plan != null) {
+                order = replay(plan, predicate, builders, profiler);
             }
+        }
 
-            // Retrieve plugin initializer
-            @NotNull PluginInitializer initializer = getInitializer(reference);
+        if (order == null) {
+            // Scan, except the roots with a generated bootstrap
+            long scan = System.nanoTime();
+            @NotNull Set<@NotNull Class<?>> classes = ConcurrentHashMap.newKeySet();
+            discover(classes::add, bootstraps.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toSet()));
+            profiler.scan(System.nanoTime() - scan);
 
-            // Dependencies
-            @NotNull Set<Class<?>> dependencies = getDependencies(reference);
+            // Create the builders declared by the bootstraps, already in dependency order
+            @NotNull List<Builder> declared = bootstrap(bootstraps.keySet(), predicate, builders, profiler);
 
-            // Name
-            @Nullable String name = reference.getAnnotation(Plugin.class).name();
-            if (name.isEmpty()) name = null;
+            // Create the builder instances
+            // This create the instance without checking for categories and dependencies.
+            for (@NotNull Class<?> reference : classes) {
+                @Nullable Builder builder = builders.containsKey(reference) ? null : create(reference, predicate, profiler);
 
-            // Description
-            @Nullable String description = reference.getAnnotation(Plugin.class).description();
-            if (description.isEmpty()) description = null;
+                if (builder != null) {
+                    builders.put(reference, builder);
+                }
+            }
 
-            // Create instance
-            @NotNull Builder builder = initializer.create(reference, name, description, dependencies.toArray(new Class[0]), new String[0]);
+            if (bootstraps.size() == 1 && declared.size() == builders.size()) {
+                // All the plugins are from a single bootstrap, ordered (and checked for cycles) at compile time
+                order = declared;
+            } else {
+                // Report the exact path of every dependency cycle before starting anything
+                DependencyScheduler.checkCycles(builders.values());
 
-            // Add to the builder only the categories that actually exists (for now)
-            categories.putIfAbsent(builder, new LinkedList<>());
+                // Organize by dependencies order
+                // The order is computed only once, a plugin refused by a handler doesn't change it
+                order = new DependencyScheduler(builders.values()).order();
+            }
 
-            for (@NotNull Category annotation : reference.getAnnotationsByType(Category.class)) {
-                @Nullable PluginCategory category = factory.getCategory(annotation.value(), false).orElse(null);
+            // Record the plan for the next loads, with every discovered plugin so the replays apply their own
+            // predicate, loaded plugins and category handlers
+            if (file != null) {
+                @NotNull Set<Class<?>> discovered = new LinkedHashSet<>();
 
-                if (category != null) {
-                    // Add category to builder
-                    builder.category(category);
-                    categories.get(builder).add(category);
+                for (@NotNull PluginBootstrap bootstrap : bootstraps.keySet()) {
+                    for (@NotNull PluginBootstrap.Entry entry : bootstrap.getEntries()) {
+                        @NotNull String name = entry.getReference().getName();
 
-                    // Category handlers
-                    if (callCategory(builder, category)) {
-                        continue main;
+                        if (checkPackageWithin(name.lastIndexOf('.') < 0 ? "" : name.substring(0, name.lastIndexOf('.')))) {
+                            discovered.add(entry.getReference());
+                        }
                     }
                 }
-            }
-
-            // Register it
-            builders.put(reference, builder);
-        }
+                discovered.addAll(classes);
 
-        // Shutdown hook
-        @NotNull Set<PluginInfo> loadedPlugins = new LinkedHashSet<>();
+                @Nullable LoadPlan plan = record(hash, discovered);
 
-        if (shutdownHook) {
-            @NotNull ShutdownHook hook = new ShutdownHook(loadedPlugins);
-            Runtime.getRuntime().addShutdownHook(hook);
+                if (plan != null) {
+                    plan.save(file);
+                }
+            }
         }
 
-        // Organize by dependencies order
-        @NotNull Iterator<Builder> iterator = organize(builders.values()).iterator();
-        @NotNull Set<Builder> done = new HashSet<>();
+        // Shutdown hook
+        @NotNull Set<PluginInfo> loadedPlugins = createShutdownHook();
 
-        main:
-        while (iterator.hasNext()) {
-            // Variables
-            @NotNull Builder builder = iterator.next();
-            @NotNull Class<?> reference = builder.getReference();
-            categories.put(builder, new LinkedList<>());
+        @Nullable Executor executor = this.executor != null ? this.executor : concurrent ? LifecycleExecutors.getExecutor() : null;
+        @NotNull Set<Class<?>> skipped = new HashSet<>();
 
+        if (executor != null) {
+            start(order, builders.keySet(), skipped, plugins, loadedPlugins, executor, profiler);
+        } else for (@NotNull Builder builder : order) {
             // Dependencies
-            for (@NotNull Class<?> dependency : builder.getDependencies()) {
-                if (!builders.containsKey(dependency) && !factory.plugins.containsKey(dependency)) {
-                    if (dependency.isAnnotationPresent(Plugin.class)) {
-                        throw new InvalidPluginException(reference, "the plugin '" + reference.getName() + "' depends on '" + dependency.getName() + "' that isn't loaded.");
-                    } else {
-                        throw new InvalidPluginException(reference, "the plugin '" + reference.getName() + "' cannot have a dependency on '" + dependency.getName() + "' because it's not a plugin");
-                    }
-                }
-            }
+            checkDependencies(builder, builders.keySet());
 
-            // Categories
-            for (@NotNull Category annotation : reference.getAnnotationsByType(Category.class)) {
-                @Nullable PluginCategory category = factory.getCategory(annotation.value(), false).orElse(null);
+            // Start
+            @Nullable PluginInfo plugin = start(builder, loadedPlugins, skipped, profiler);
 
-                if (categories.get(builder).contains(category)) {
-                    continue;
-                }
+            if (plugin != null) {
+                plugins.put(builder.getReference(), plugin);
+            }
+        }
 
-                if (category != null) {
-                    builder.category(category);
-                    categories.get(builder).add(category);
+        // Add dependencies
+        link(plugins.values());
 
-                    // Category handlers
-                    if (callCategory(builder, category)) {
-                        continue main;
-                    }
-                } else {
-                    builder.category(annotation.value());
-                }
-            }
+        // Finish
+        return plugins.values().toArray(new PluginInfo[0]);
+    }
+    @Override
+    public @NotNull PluginInfo @NotNull [] loadIncrementally(@NotNull Predicate<Class<?>> predicate) throws PluginInitializeException, IOException {
+        @NotNull StartupProfiler profiler = new StartupProfiler(allocations);
+        this.report = profiler;
 
-            // Call global handlers
-            for (@NotNull PluginHandler handler : factory.getGlobalHandlers()) {
-                if (!handler.accept(builder)) {
-                    continue main;
-                }
-            }
+        try {
+            return loadIncrementally(predicate, profiler);
+        } finally {
+            profiler.finish();
+        }
+    }
+    private @NotNull PluginInfo @NotNull [] loadIncrementally(@NotNull Predicate<Class<?>> predicate, @NotNull StartupProfiler profiler) throws PluginInitializeException, IOException {
+        // Variables
+        @NotNull Map<Class<?>, Builder> builders = new LinkedHashMap<>();
+        @NotNull Map<Class<?>, PluginInfo> plugins = new LinkedHashMap<>();
+        @NotNull DependencyScheduler scheduler = new DependencyScheduler();
+        @NotNull Set<Class<?>> skipped = new HashSet<>();
 
-            // Build
-            @NotNull PluginInfo plugin;
+        // Shutdown hook
+        @NotNull Set<PluginInfo> loadedPlugins = createShutdownHook();
 
-            try {
-                plugin = builder.build();
-            } catch (@NotNull Throwable e) {
-                throw new PluginInitializeException(reference, "cannot build plugin info of class: " + reference.getName(), e);
-            }
+        // Create the builders as the classes are discovered, and start every plugin that has all the dependencies ready
+        try (@NotNull Stream<Class<?>> stream = discover()) {
+            @NotNull Iterator<Class<?>> iterator = stream.iterator();
 
-            // Call Handlers
-            {
-                // Category handlers
-                for (@NotNull PluginCategory category : categories.get(builder)) {
-                    // Category handlers
-                    if (callCategory(plugin, category)) {
-                        continue main;
-                    }
-                }
+            while (true) {
+                // Wait for the next class, the time spent waiting is the scan time
+                long scan = System.nanoTime();
+                @Nullable Class<?> reference = iterator.hasNext() ? iterator.next() : null;
+                profiler.scan(System.nanoTime() - scan);
 
-                // Global handlers
-                for (@NotNull PluginHandler handler : factory.getGlobalHandlers()) {
-                    if (!handler.accept(plugin)) {
-                        continue main;
-                    }
+                if (reference == null) {
+                    break;
                 }
-            }
 
-            // Register it
-            factory.plugins.put(reference, plugin);
-            plugins.put(reference, plugin);
+                @Nullable Builder builder = create(reference, predicate, profiler);
 
-            try {
-                plugin.start();
+                if (builder != null) {
+                    // The plugins loaded before don't have to be waited for
+                    builders.put(builder.getReference(), builder);
+                    scheduler.add(builder, factory.plugins::contains);
 
-                if (plugin.isAutoClose()) {
-                    loadedPlugins.add(plugin);
+                    startReady(scheduler, skipped, plugins, loadedPlugins, profiler);
                 }
-            } catch (@NotNull PluginInitializeException e) {
-                throw e;
-            } catch (@NotNull Throwable throwable) {
-                throw new PluginInitializeException(plugin.getReference(), "cannot initialize plugin correctly", throwable);
             }
+        } catch (@NotNull UncheckedIOException e) {
+            throw e.getCause();
+        }
 
-            // Refresh iterator
-            done.add(builder);
+        // All the classes were discovered, the remaining plugins have missing or cyclic dependencies
+        @NotNull Collection<Builder> remaining = scheduler.getRemaining();
 
-            @NotNull Set<Builder> next = new LinkedHashSet<>(builders.values());
-            next.removeAll(done);
+        for (@NotNull Builder builder : remaining) {
+            checkDependencies(builder, builders.keySet());
+        }
 
-            iterator = organize(next).iterator();
+        if (!remaining.isEmpty()) {
+            DependencyScheduler.checkCycles(remaining);
+            throw new IllegalStateException("cyclic or unresolved dependencies detected: " + remaining);
         }
 
         // Add dependencies
-        for (@NotNull PluginInfo plugin : plugins.values()) {
-            @NotNull List<@NotNull PluginInfo> dependants = plugins.values().stream().filter(target -> target.getDependencies().contains(plugin)).collect(Collectors.toList());
-            plugin.getDependants().addAll(dependants);
-        }
+        link(plugins.values());
 
         // Finish
         return plugins.values().toArray(new PluginInfo[0]);
     }
 
-    // Utilities
+    /**
+     * Starts every ready plugin of the scheduler, lowest priority first. A plugin is completed after it's been
+     * handled; when it was refused by a handler or skipped, its dependants are skipped too.
+     *
+     * @param scheduler     the scheduler of the discovered builders
+     * @param skipped       the references of the plugins that were refused or skipped, and of their dependants
+     * @param plugins       the map where the started plugins are put
+     * @param loadedPlugins the plugins that should be closed by the shutdown hook
+     * @param profiler      the profiler of the load
+     * @throws PluginInitializeException if a plugin cannot be built or started
+     */
+    private void startReady(@NotNull DependencyScheduler scheduler, @NotNull Set<Class<?>> skipped, @NotNull Map<Class<?>, PluginInfo> plugins, @NotNull Set<PluginInfo> loadedPlugins, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        while (scheduler.hasNext()) {
+            @NotNull Builder builder = scheduler.next();
+            @Nullable PluginInfo plugin = start(builder, loadedPlugins, skipped, profiler);
+
+            if (plugin != null) {
+                plugins.put(builder.getReference(), plugin);
+            }
 
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private boolean checkPackageWithin(@NotNull String reference) {
-        if (packages.isEmpty()) {
-            return true;
+            scheduler.complete(builder);
         }
+    }
 
-        boolean any = false;
+    /**
+     * Creates the builder of the plugin class, without checking for categories that doesn't exist yet and dependencies.
+     *
+     * @param reference the plugin class
+     * @param predicate the predicate the plugin class must match
+     * @param profiler  the profiler of the load
+     * @return the builder, or null if the plugin was filtered or refused by a category handler
+     */
+    private @Nullable Builder create(@NotNull Class<?> reference, @NotNull Predicate<Class<?>> predicate, @NotNull StartupProfiler profiler) {
+        // Verifications
+        if (!isCreatable(reference, predicate)) {
+            return null;
+        }
 
-        for (@NotNull Entry<String, Boolean> entry : packages.entrySet()) {
-            // Variables
-            @NotNull String required = entry.getKey();
-            boolean recursive = entry.getValue();
+        // Descriptor
+        long start = System.nanoTime();
 
-            // Check any
-            if (recursive) any = reference.startsWith(required);
-            else any = reference.equals(required);
+        @NotNull PluginDescriptor descriptor = PluginDescriptor.of(reference);
+        @NotNull Set<Class<?>> dependencies = getDependencies(descriptor);
 
-            // Break if founded
-            if (any) {
-                break;
-            }
+        profiler.timing(reference).add(Phase.CREATE, System.nanoTime() - start);
+
+        // Finish
+        return create(reference, descriptor.getInitializer(), descriptor.getName(), descriptor.getDescription(), dependencies, descriptor.getCategories(), profiler);
+    }
+    private boolean isCreatable(@NotNull Class<?> reference, @NotNull Predicate<Class<?>> predicate) {
+        // Check if predicate validates it
+        if (!predicate.test(reference)) {
+            return false;
         }
 
-        return any;
+        @Nullable PluginInfo registered = factory.plugins.get(reference);
+
+        if (registered != null && !registered.getState().isIdle()) {
+            return false;
+        }
+
+        // Check if it's an inner and non-class
+        if (reference.getEnclosingClass() != null && !Modifier.isStatic(reference.getModifiers())) {
+            throw new InvalidPluginException(reference, "a non-static inner class cannot be a plugin, the class should be at least static");
+        }
+
+        return true;
     }
+    private @Nullable Builder create(@NotNull Class<?> reference, @NotNull Class<? extends PluginInitializer> type, @Nullable String name, @Nullable String description, @NotNull Collection<Class<?>> dependencies, @NotNull Collection<String> categories, @NotNull StartupProfiler profiler) {
+        // Profiling
+        @NotNull StartupProfiler.Timing timing = profiler.timing(reference);
+        long allocated = profiler.allocated();
+        long start = System.nanoTime();
 
-    private static @NotNull Set<Class<?>> organize(@NotNull Set<Class<?>> references) {
-        @NotNull Set<Class<?>> sorted = new LinkedHashSet<>();
-        @NotNull List<Class<?>> remaining = new ArrayList<>(references);
+        // Retrieve plugin initializer
+        @NotNull PluginInitializer initializer = factory.getInitializer(type);
 
-        boolean progress;
-        do {
-            progress = false;
-            @NotNull Iterator<Class<?>> iterator = remaining.iterator();
+        // Create instance
+        @NotNull Builder builder = initializer.create(reference, name, description, dependencies.toArray(new Class[0]), new String[0]);
 
-            while (iterator.hasNext()) {
-                @NotNull Class<?> reference = iterator.next();
-                @NotNull Collection<Class<?>> dependencies = Arrays.stream(reference.getAnnotationsByType(Dependency.class)).map(Dependency::type).collect(Collectors.toList());
+        long accept = System.nanoTime();
+        timing.add(Phase.CREATE, accept - start);
+
+        // Add to the builder only the categories that actually exists (for now)
+        boolean refused = false;
+
+        for (@NotNull String category : categories) {
+            @Nullable PluginCategory instance = factory.getCategory(category, false).orElse(null);
+
+            if (instance != null) {
+                // Add category to builder
+                builder.category(instance);
 
-                if (dependencies.isEmpty() || sorted.containsAll(dependencies)) {
-                    sorted.add(reference);
-                    iterator.remove();
-                    progress = true;
+                // Category handlers
+                if (callCategory(builder, instance)) {
+                    refused = true;
+                    break;
                 }
             }
-        } while (progress);
-
-        if (!remaining.isEmpty()) {
-            throw new IllegalStateException("cyclic or unresolved dependencies detected: " + remaining);
         }
 
-        return sorted;
-    }
-    private static @NotNull Set<Builder> organize(@NotNull Collection<@NotNull Builder> plugins) {
-        @NotNull Set<Builder> sorted = new LinkedHashSet<>();
-        @NotNull List<Builder> remaining = new LinkedList<>(plugins);
-        @NotNull Map<Class<?>, Builder> builderByReference = plugins.stream()
-                .collect(Collectors.toMap(Builder::getReference, Function.identity()));
+        timing.add(Phase.ACCEPT, System.nanoTime() - accept);
+        timing.allocated(profiler, allocated);
 
-        while (!remaining.isEmpty()) {
-            @NotNull List<Builder> eligible = new LinkedList<>();
+        // Finish
+        return refused ? null : builder;
+    }
 
-            for (@NotNull Builder builder : remaining) {
-                boolean ready = true;
-                for (@NotNull Class<?> dependency : builder.getDependencies()) {
-                    @NotNull Builder dependencyBuilder = builderByReference.get(dependency);
-                    if (dependencyBuilder != null && !sorted.contains(dependencyBuilder)) {
-                        ready = false;
-                        break;
-                    }
-                }
-                if (ready) {
-                    eligible.add(builder);
+    /**
+     * Creates the builders of the plugins listed at the load plan, in the plan order, without scanning the roots,
+     * reading the plugins annotations nor ordering them again.
+     *
+     * @param plan      the load plan
+     * @param predicate the predicate the plugin classes must match
+     * @param builders  the map where the created builders are put
+     * @param profiler  the profiler of the load
+     * @return the builders in the order they should be started, or null if a class of the plan cannot be loaded
+     */
+    private @Nullable List<Builder> replay(@NotNull LoadPlan plan, @NotNull Predicate<Class<?>> predicate, @NotNull Map<Class<?>, Builder> builders, @NotNull StartupProfiler profiler) {
+        // Resolve all the classes first, the plan is discarded if any of them is missing
+        @NotNull Map<String, Class<?>> classes = new HashMap<>();
+
+        for (@NotNull LoadPlan.Entry entry : plan.getEntries()) {
+            @NotNull List<String> names = new ArrayList<>(entry.getDependencies());
+            names.add(entry.getName());
+            names.add(entry.getInitializer());
+
+            for (@NotNull String name : names) {
+                @Nullable Class<?> reference = classes.containsKey(name) ? classes.get(name) : resolve(name);
+
+                if (reference == null) {
+                    return null;
                 }
+
+                classes.put(name, reference);
             }
+        }
+
+        // Create the builders
+        @NotNull List<Builder> order = new ArrayList<>(plan.getEntries().size());
 
-            if (eligible.isEmpty()) {
-                throw new IllegalStateException("cyclic or unresolved dependencies detected: " + remaining);
+        for (@NotNull LoadPlan.Entry entry : plan.getEntries()) {
+            @NotNull Class<?> reference = classes.get(entry.getName());
+
+            if (!isCreatable(reference, predicate)) {
+                continue;
             }
 
-            // Ordena os builders elegíveis pela prioridade (prioridade menor vem primeiro)
-            eligible.sort(Comparator.comparingInt(Builder::getPriority));
+            // A dependency that isn't part of the plan is a plugin loaded before, it's checked before starting
+            @NotNull Set<Class<?>> dependencies = entry.getDependencies().stream().map(classes::get).collect(Collectors.toCollection(LinkedHashSet::new));
+
+            @NotNull Class<? extends PluginInitializer> initializer = classes.get(entry.getInitializer()).asSubclass(PluginInitializer.class);
+            @Nullable Builder builder = create(reference, initializer, entry.getPluginName(), entry.getDescription(), dependencies, entry.getCategories(), profiler);
 
-            @NotNull Builder chosen = eligible.get(0);
-            sorted.add(chosen);
-            remaining.remove(chosen);
+            if (builder != null) {
+                builders.put(reference, builder);
+                order.add(builder);
+            }
         }
 
-        return sorted;
+        return order;
     }
+    /**
+     * Creates the builders of the plugins declared by the generated bootstraps, in the bootstraps order, without
+     * loading the classes by name nor reading the plugins annotations.
+     *
+     * @param bootstraps the generated bootstraps
+     * @param predicate  the predicate the plugin classes must match
+     * @param builders   the map where the created builders are put
+     * @param profiler   the profiler of the load
+     * @return the created builders, in the order they were declared
+     */
+    private @NotNull List<Builder> bootstrap(@NotNull Collection<PluginBootstrap> bootstraps, @NotNull Predicate<Class<?>> predicate, @NotNull Map<Class<?>, Builder> builders, @NotNull StartupProfiler profiler) {
+        @NotNull List<Builder> order = new ArrayList<>();
+
+        for (@NotNull PluginBootstrap bootstrap : bootstraps) {
+            for (@NotNull PluginBootstrap.Entry entry : bootstrap.getEntries()) {
+                @NotNull Class<?> reference = entry.getReference();
+                @NotNull String name = reference.getName();
+
+                if (!checkPackageWithin(name.lastIndexOf('.') < 0 ? "" : name.substring(0, name.lastIndexOf('.')))) {
+                    continue;
+                } else if (builders.containsKey(reference) || !isCreatable(reference, predicate)) {
+                    continue;
+                } else if (entry.getDependencies().contains(reference)) {
+                    throw new InvalidPluginException(reference, "the plugin cannot have a dependency on itself");
+                }
+
+                @Nullable Builder builder = create(reference, entry.getInitializer(), entry.getName(), entry.getDescription(), entry.getDependencies(), entry.getCategories(), profiler);
+
+                if (builder != null) {
+                    builders.put(reference, builder);
+                    order.add(builder);
+                }
+            }
+        }
 
-    private static @NotNull PluginInitializer getInitializer(@NotNull Class<?> reference) {
-        // Plugin loader class
-        @NotNull Class<? extends PluginInitializer> loaderClass = ConstructorPluginInitializer.class;
-        if (reference.isAnnotationPresent(Initializer.class)) {
-            loaderClass = reference.getAnnotation(Initializer.class).type();
+        return order;
+    }
+    /**
+     * Creates the load plan of the discovered plugins. The plan lists every plugin found by the scan, before the
+     * predicate, the plugins already loaded and the category handlers filter them, ordered by their dependencies
+     * and priorities like the {@link DependencyScheduler}.
+     *
+     * @param hash       the hash of the load inputs
+     * @param discovered the discovered plugin classes
+     * @return the plan, or null if the discovered plugins have a dependency cycle
+     */
+    private static @Nullable LoadPlan record(@NotNull String hash, @NotNull Collection<Class<?>> discovered) {
+        @NotNull Map<Class<?>, PluginDescriptor> descriptors = new LinkedHashMap<>();
+        @NotNull Map<Class<?>, Integer> indexes = new HashMap<>();
+
+        for (@NotNull Class<?> reference : discovered) {
+            descriptors.put(reference, PluginDescriptor.of(reference));
+            indexes.put(reference, indexes.size());
         }
 
-        try {
-            // Constructor
-            @NotNull Constructor<? extends PluginInitializer> constructor = loaderClass.getDeclaredConstructor();
-            constructor.setAccessible(true);
-
-            return constructor.newInstance();
-        } catch (@NotNull InvocationTargetException e) {
-            throw new RuntimeException("cannot execute plugin loader's constructor: " + loaderClass, e);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException("cannot find plugin loader's empty declared constructor: " + loaderClass, e);
-        } catch (InstantiationException e) {
-            throw new RuntimeException("cannot instantiate plugin loader: " + loaderClass, e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("cannot access plugin loader's constructor: " + loaderClass, e);
-        }
-    }
-    private static @NotNull Set<Class<?>> getDependencies(@NotNull Class<?> reference) {
-        @NotNull Set<Class<?>> dependencies = new LinkedHashSet<>();
+        // Count the dependencies and link the dependants
+        @NotNull Map<Class<?>, Integer> pending = new HashMap<>();
+        @NotNull Map<Class<?>, List<Class<?>>> dependants = new HashMap<>();
+        @NotNull PriorityQueue<Class<?>> ready = new PriorityQueue<>(Comparator.<Class<?>>comparingInt(reference -> descriptors.get(reference).getPriority()).thenComparingInt(indexes::get));
 
-        for (@NotNull Dependency annotation : reference.getAnnotationsByType(Dependency.class)) {
-            // Check issues
-            if (annotation.type() == reference) {
-                throw new InvalidPluginException(reference, "the plugin cannot have a dependency on itself");
-            } else for (@NotNull Dependency a : annotation.type().getAnnotationsByType(Dependency.class)) {
-                @NotNull Class<?> dependency = a.type();
+        for (@NotNull Entry<Class<?>, PluginDescriptor> entry : descriptors.entrySet()) {
+            int count = 0;
 
-                if (dependency == reference) {
-                    throw new InvalidPluginException(reference, "cyclic dependency between '" + reference.getName() + "' and '" + dependency.getName() + "'.");
+            for (@NotNull Class<?> dependency : entry.getValue().getDependencies()) {
+                if (dependency != entry.getKey() && descriptors.containsKey(dependency)) {
+                    dependants.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+                    count++;
                 }
             }
 
-            // Variables
-            @NotNull Class<?> dependency = annotation.type();
+            pending.put(entry.getKey(), count);
 
-            // Generate instance and register it
-            dependencies.add(dependency);
+            if (count == 0) {
+                ready.add(entry.getKey());
+            }
         }
 
-        // Finish
-        return dependencies;
-    }
-
-    private static boolean callCategory(@NotNull Builder builder, @NotNull PluginCategory category) {
-        if (!category.accept(builder)) {
-            return true;
+        // Create the entries in dependency order
+        @NotNull List<LoadPlan.Entry> entries = new ArrayList<>(descriptors.size());
+
+        while (!ready.isEmpty()) {
+            @NotNull Class<?> reference = ready.poll();
+            @NotNull PluginDescriptor descriptor = descriptors.get(reference);
+
+            entries.add(new LoadPlan.Entry(
+                    reference.getName(),
+                    descriptor.getInitializer().getName(),
+                    descriptor.getName(),
+                    descriptor.getDescription(),
+                    descriptor.getCategories(),
+                    descriptor.getDependencies().stream().map(Class::getName).collect(Collectors.toList())
+            ));
+
+            for (@NotNull Class<?> dependant : dependants.getOrDefault(reference, Collections.emptyList())) {
+                if (pending.merge(dependant, -1, Integer::sum) == 0) {
+                    ready.add(dependant);
+                }
+            }
         }
 
-        // Handlers
-        for (@NotNull PluginHandler handler : category.getHandlers()) {
+        // The plugins left are part of a cycle, a replay would start them before their dependencies
+        return entries.size() == descriptors.size() ? new LoadPlan(hash, entries) : null;
+    }
+    private @Nullable Class<?> resolve(@NotNull String name) {
+        for (@NotNull ClassLoader loader : classLoaders.isEmpty() ? Arrays.asList(ClassLoader.getSystemClassLoader(), Plugins.class.getClassLoader()) : classLoaders) {
             try {
-                if (!handler.accept(builder)) {
-                    return true;
-                }
-            } catch (@NotNull Throwable throwable) {
-                throw new RuntimeException("cannot invoke category's handler to accept '" + category + "': " + handler);
+                return Class.forName(name, false, loader);
+            } catch (@NotNull ClassNotFoundException | @NotNull NoClassDefFoundError ignore) {
+                // Try the next class loader
             }
         }
 
-        // Finish
-        return false;
+        return null;
     }
-    private static boolean callCategory(@NotNull PluginInfo plugin, @NotNull PluginCategory category) {
-        if (!category.accept(plugin)) {
-            return true;
+
+    /**
+     * Starts the plugin of the builder, unless one of its dependencies was skipped. When the plugin is refused by a
+     * handler, or exceeds its start timeout and the timeout policy is {@link TimeoutPolicy#CONTINUE}, the plugin is
+     * skipped too.
+     *
+     * @param builder       the plugin builder
+     * @param loadedPlugins the plugins that should be closed by the shutdown hook
+     * @param skipped       the references of the plugins that were refused or timed out, and of their dependants
+     * @param profiler      the profiler of the load
+     * @return the plugin, or null if it was refused by a handler or skipped because of a dependency
+     * @throws PluginInitializeException if the plugin cannot be built or started
+     */
+    private @Nullable PluginInfo start(@NotNull Builder builder, @NotNull Set<PluginInfo> loadedPlugins, @NotNull Set<Class<?>> skipped, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        // The dependants of the plugins that were refused or timed out aren't started
+        if (skipDependant(builder, skipped, profiler)) {
+            return null;
         }
 
-        // Handlers
-        for (@NotNull PluginHandler handler : category.getHandlers()) {
-            try {
-                if (!handler.accept(plugin)) {
-                    return true;
-                }
+        try {
+            @Nullable PluginInfo plugin = start(builder, loadedPlugins, profiler);
+
+            if (plugin == null) {
+                skip(builder.getReference(), new PluginInitializeException(builder.getReference(), "the plugin was refused by a handler"), skipped, profiler);
+            }
+
+            return plugin;
+        } catch (@NotNull PluginInitializeException e) {
+            if (!isSkippable(e)) {
+                throw e;
+            }
+
+            skip(builder.getReference(), e, skipped, profiler);
+            return factory.plugins.get(builder.getReference());
+        }
+    }
+    private @Nullable PluginInfo start(@NotNull Builder builder, @NotNull Set<PluginInfo> loadedPlugins, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        @Nullable PluginInfo plugin = prepare(builder, profiler);
+
+        if (plugin == null) {
+            return null;
+        } else if (isLazy(plugin)) {
+            factory.lazy(plugin, loadedPlugins, getStartTimeout(plugin), policy);
+        } else {
+            start(plugin, profiler);
+
+            if (plugin.isAutoClose()) {
+                loadedPlugins.add(plugin);
+            }
+        }
+
+        return plugin;
+    }
+
+    /**
+     * Calls the category and global handlers of the builder, builds the plugin and registers it at the factory.
+     *
+     * @param builder  the plugin builder
+     * @param profiler the profiler of the load
+     * @return the registered plugin, or null if a handler refused it
+     * @throws PluginInitializeException if the plugin cannot be built
+     */
+    private @Nullable PluginInfo prepare(@NotNull Builder builder, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        // Profiling, everything except the build itself is the time spent at the handlers
+        @NotNull StartupProfiler.Timing timing = profiler.timing(builder.getReference());
+        long allocated = profiler.allocated();
+        long built = timing.get(Phase.BUILD);
+        long start = System.nanoTime();
+
+        // The lazy dependencies retrieved while building aren't activated yet, only when the plugin starts
+        factory.activation.set(false);
+
+        try {
+            return build(builder, timing);
+        } finally {
+            factory.activation.remove();
+
+            timing.add(Phase.ACCEPT, System.nanoTime() - start - (timing.get(Phase.BUILD) - built));
+            timing.allocated(profiler, allocated);
+        }
+    }
+    private @Nullable PluginInfo build(@NotNull Builder builder, @NotNull StartupProfiler.Timing timing) throws PluginInitializeException {
+        // Variables
+        @NotNull Class<?> reference = builder.getReference();
+        @NotNull List<PluginCategory> categories = new LinkedList<>();
+
+        // Categories
+        for (@NotNull String name : PluginDescriptor.of(reference).getCategories()) {
+            @Nullable PluginCategory category = factory.getCategory(name, false).orElse(null);
+
+            if (categories.contains(category)) {
+                continue;
+            }
+
+            if (category != null) {
+                builder.category(category);
+                categories.add(category);
+
+                // Category handlers
+                if (callCategory(builder, category)) {
+                    return null;
+                }
+            } else {
+                builder.category(name);
+            }
+        }
+
+        // Call global handlers
+        for (@NotNull PluginHandler handler : factory.getGlobalHandlers()) {
+            if (!handler.accept(builder)) {
+                return null;
+            }
+        }
+
+        // Build
+        @NotNull PluginInfo plugin;
+        long start = System.nanoTime();
+
+        try {
+            plugin = builder.build();
+        } catch (@NotNull Throwable e) {
+            throw new PluginInitializeException(reference, "cannot build plugin info of class: " + reference.getName(), e);
+        } finally {
+            timing.add(Phase.BUILD, System.nanoTime() - start);
+        }
+
+        // Call Handlers
+        {
+            // Category handlers
+            for (@NotNull PluginCategory category : categories) {
+                // Category handlers
+                if (callCategory(plugin, category)) {
+                    return null;
+                }
+            }
+
+            // Global handlers
+            for (@NotNull PluginHandler handler : factory.getGlobalHandlers()) {
+                if (!handler.accept(plugin)) {
+                    return null;
+                }
+            }
+        }
+
+        // Register it
+        start = System.nanoTime();
+        plugin.setFactory(factory);
+        factory.plugins.put(reference, plugin);
+        factory.unstarted.remove(reference);
+        timing.add(Phase.BUILD, System.nanoTime() - start);
+
+        // Finish
+        return plugin;
+    }
+    private boolean isLazy(@NotNull PluginInfo plugin) {
+        return lazy || PluginDescriptor.of(plugin.getReference()).isLazy();
+    }
+    /**
+     * Skips the plugin of the builder if one of its dependencies was skipped.
+     *
+     * @return true if the plugin was skipped
+     */
+    private boolean skipDependant(@NotNull Builder builder, @NotNull Set<Class<?>> skipped, @NotNull StartupProfiler profiler) {
+        for (@NotNull Class<?> dependency : builder.getDependencies()) {
+            if (skipped.contains(dependency)) {
+                skip(builder.getReference(), new PluginInitializeException(builder.getReference(), "the dependency '" + dependency.getName() + "' wasn't started"), skipped, profiler);
+                return true;
+            }
+        }
+
+        return false;
+    }
+    /**
+     * Skips a plugin that the load won't start: its dependants are skipped too, it's recorded at the startup
+     * report, and the futures waiting for it fail with the reason.
+     */
+    private void skip(@NotNull Class<?> reference, @NotNull PluginInitializeException reason, @NotNull Set<Class<?>> skipped, @NotNull StartupProfiler profiler) {
+        skipped.add(reference);
+        profiler.skip(reference, String.valueOf(reason.getMessage()));
+        factory.failed(reference, reason);
+    }
+    private boolean isSkippable(@NotNull Throwable failure) {
+        return policy == TimeoutPolicy.CONTINUE && failure instanceof PluginInitializeException && failure.getCause() instanceof TimeoutException;
+    }
+    private @Nullable Duration getStartTimeout(@NotNull PluginInfo plugin) {
+        @Nullable Duration timeout = PluginDescriptor.of(plugin.getReference()).getStartTimeout();
+        return timeout != null ? timeout : startTimeout;
+    }
+    private void start(@NotNull PluginInfo plugin, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        // Lazy dependencies
+        for (@NotNull PluginInfo dependency : plugin.getDependencies()) {
+            factory.activate(dependency.getReference());
+        }
+
+        // Profiling, the time spent at the lifecycle handlers is split from the start time
+        @NotNull StartupProfiler.Timing timing = profiler.timing(plugin.getReference());
+        long allocated = profiler.allocated();
+        long handling = plugin.getHandlingTime();
+        long start = System.nanoTime();
+
+        try {
+            Deadlines.run(plugin, "start", getStartTimeout(plugin), plugin::start);
+        } catch (@NotNull PluginInitializeException e) {
+            factory.failed(plugin.getReference(), e);
+            throw e;
+        } catch (@NotNull TimeoutException e) {
+            @NotNull PluginInitializeException exception = new PluginInitializeException(plugin.getReference(), e.getMessage(), e);
+            factory.failed(plugin.getReference(), exception);
+
+            throw exception;
+        } catch (@NotNull Throwable throwable) {
+            @NotNull PluginInitializeException exception = new PluginInitializeException(plugin.getReference(), "cannot initialize plugin correctly", throwable);
+            factory.failed(plugin.getReference(), exception);
+
+            throw exception;
+        } finally {
+            handling = plugin.getHandlingTime() - handling;
+
+            timing.add(Phase.HANDLERS, handling);
+            timing.add(Phase.START, System.nanoTime() - start - handling);
+            timing.allocated(profiler, allocated);
+        }
+
+        factory.started(plugin);
+    }
+
+    /**
+     * Starts the plugins at the executor as a wavefront over the dependency graph: the plugins are prepared
+     * (handlers, build and registration) at the calling thread, and each one is submitted to the executor as
+     * soon as all of its dependencies are running. The plugins refused by a handler, or timed out with the
+     * {@link TimeoutPolicy#CONTINUE} policy, are skipped with their dependants, like at the sequential load.
+     *
+     * @param builders      the plugin builders
+     * @param references    the references of all the builders being loaded
+     * @param skipped       the references of the plugins that were refused or timed out, and of their dependants
+     * @param plugins       the map where the prepared plugins are put
+     * @param loadedPlugins the plugins that should be closed by the shutdown hook
+     * @param executor      the executor used to start the plugins
+     * @param profiler      the profiler of the load
+     * @throws PluginInitializeException if any plugin cannot be built or started
+     */
+    private void start(@NotNull Collection<Builder> builders, @NotNull Set<Class<?>> references, @NotNull Set<Class<?>> skipped, @NotNull Map<Class<?>, PluginInfo> plugins, @NotNull Set<PluginInfo> loadedPlugins, @NotNull Executor executor, @NotNull StartupProfiler profiler) throws PluginInitializeException {
+        // Variables
+        @NotNull DependencyScheduler scheduler = new DependencyScheduler(builders);
+        @NotNull BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        @NotNull List<Throwable> failures = new LinkedList<>();
+
+        boolean interrupted = false;
+        int running = 0;
+
+        while (true) {
+            // Submit every ready plugin, lowest priority first
+            while (failures.isEmpty() && scheduler.hasNext()) {
+                @NotNull Builder builder = scheduler.next();
+
+                try {
+                    checkDependencies(builder, references);
+
+                    if (skipDependant(builder, skipped, profiler)) {
+                        scheduler.complete(builder);
+                        continue;
+                    }
+
+                    @Nullable PluginInfo plugin = prepare(builder, profiler);
+
+                    if (plugin == null) {
+                        skip(builder.getReference(), new PluginInitializeException(builder.getReference(), "the plugin was refused by a handler"), skipped, profiler);
+                        scheduler.complete(builder);
+
+                        continue;
+                    }
+
+                    plugins.put(builder.getReference(), plugin);
+
+                    if (isLazy(plugin)) {
+                        factory.lazy(plugin, loadedPlugins, getStartTimeout(plugin), policy);
+                        scheduler.complete(builder);
+
+                        continue;
+                    }
+
+                    executor.execute(() -> {
+                        try {
+                            start(plugin, profiler);
+                            completions.add(new Completion(builder, plugin, null));
+                        } catch (@NotNull Throwable throwable) {
+                            completions.add(new Completion(builder, plugin, throwable));
+                        }
+                    });
+
+                    running++;
+                } catch (@NotNull Throwable throwable) {
+                    failures.add(throwable);
+                }
+            }
+
+            if (running == 0) {
+                break;
+            }
+
+            // Wait for the next plugin to finish starting
+            @NotNull Completion completion;
+
+            try {
+                completion = take(completions);
+            } catch (@NotNull InterruptedException e) {
+                // The plugins already submitted must finish, the interruption is restored later
+                interrupted = true;
+                continue;
+            }
+
+            running--;
+
+            if (completion.failure != null) {
+                if (isSkippable(completion.failure)) {
+                    // Completed as skipped, its dependants are skipped when they become ready
+                    skip(completion.builder.getReference(), (PluginInitializeException) completion.failure, skipped, profiler);
+                    scheduler.complete(completion.builder);
+                } else {
+                    failures.add(completion.failure);
+                }
+            } else {
+                if (completion.plugin.isAutoClose()) {
+                    loadedPlugins.add(completion.plugin);
+                }
+
+                scheduler.complete(completion.builder);
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Failures
+        if (!failures.isEmpty()) {
+            @NotNull Iterator<Throwable> iterator = failures.iterator();
+            @NotNull Throwable failure = iterator.next();
+
+            while (iterator.hasNext()) {
+                failure.addSuppressed(iterator.next());
+            }
+
+            if (failure instanceof PluginInitializeException) {
+                throw (PluginInitializeException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else {
+                throw new RuntimeException("cannot start plugins", failure);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the next completion, waiting for it. The wait is managed, so when the load itself runs at a
+     * {@link LifecycleExecutors lifecycle} thread (e.g. {@link #loadAsync()}) the lifecycle pool compensates it
+     * instead of running out of threads to start the plugins.
+     */
+    private static @NotNull Completion take(@NotNull BlockingQueue<Completion> completions) throws InterruptedException {
+        @NotNull Completion @NotNull [] completion = new Completion[1];
+
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                if (completion[0] == null) {
+                    completion[0] = completions.take();
+                }
+
+                return true;
+            }
+            @Override
+            public boolean isReleasable() {
+                return completion[0] != null || (completion[0] = completions.poll()) != null;
+            }
+        });
+
+        return completion[0];
+    }
+
+    private @NotNull Set<PluginInfo> createShutdownHook() {
+        // Lazy plugins are added when they're activated, that can happen at any thread
+        @NotNull Set<PluginInfo> loadedPlugins = Collections.synchronizedSet(new LinkedHashSet<>());
+
+        if (shutdownHook) {
+            @NotNull ShutdownHook hook = new ShutdownHook(loadedPlugins, concurrent ? LifecycleExecutors.getExecutor() : null, closeTimeout, policy);
+            Runtime.getRuntime().addShutdownHook(hook);
+        }
+
+        return loadedPlugins;
+    }
+    private void checkDependencies(@NotNull Builder builder, @NotNull Set<Class<?>> builders) {
+        @NotNull Class<?> reference = builder.getReference();
+
+        for (@NotNull Class<?> dependency : builder.getDependencies()) {
+            if (!builders.contains(dependency) && !factory.plugins.contains(dependency)) {
+                if (PluginDescriptor.of(dependency).isPlugin()) {
+                    throw new InvalidPluginException(reference, "the plugin '" + reference.getName() + "' depends on '" + dependency.getName() + "' that isn't loaded.");
+                } else {
+                    throw new InvalidPluginException(reference, "the plugin '" + reference.getName() + "' cannot have a dependency on '" + dependency.getName() + "' because it's not a plugin");
+                }
+            }
+        }
+    }
+    private static void link(@NotNull Collection<PluginInfo> plugins) {
+        for (@NotNull PluginInfo plugin : plugins) {
+            @NotNull List<@NotNull PluginInfo> dependants = plugins.stream().filter(target -> target.getDependencies().contains(plugin)).collect(Collectors.toList());
+            plugin.getDependants().addAll(dependants);
+        }
+    }
+
+    // Utilities
+
+    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+    private boolean checkPackageWithin(@NotNull String reference) {
+        if (packages.isEmpty()) {
+            return true;
+        }
+
+        boolean any = false;
+
+        for (@NotNull Entry<String, Boolean> entry : packages.entrySet()) {
+            // Variables
+            @NotNull String required = entry.getKey();
+            boolean recursive = entry.getValue();
+
+            // Check any
+            if (recursive) any = isSubPackage(reference, required);
+            else any = reference.equals(required);
+
+            // Break if founded
+            if (any) {
+                break;
+            }
+        }
+
+        return any;
+    }
+
+    /**
+     * @param packge the package name
+     * @param parent the parent package name, empty for the root package
+     * @return true if the package is the parent package or one of its sub-packages
+     */
+    private static boolean isSubPackage(@NotNull String packge, @NotNull String parent) {
+        return parent.isEmpty() || packge.equals(parent) || packge.startsWith(parent + ".");
+    }
+
+    private @NotNull Classes.PackageFilter getPackageFilter() {
+        if (packages.isEmpty()) {
+            return Classes.PackageFilter.ALL;
+        }
+
+        return new Classes.PackageFilter() {
+            @Override
+            public boolean isWithin(@NotNull String packge) {
+                return checkPackageWithin(packge);
+            }
+            @Override
+            public boolean isParent(@NotNull String packge) {
+                for (@NotNull Entry<String, Boolean> entry : packages.entrySet()) {
+                    @NotNull String required = entry.getKey();
+
+                    // The package is a parent of the required one, or it's the required one
+                    if (required.equals(packge) || required.startsWith(packge + ".")) {
+                        return true;
+                    } else if (entry.getValue() && isSubPackage(packge, required)) {
+                        // Sub-package of a recursive required package
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+        };
+    }
+    private void scan(@NotNull File root, @Nullable ClassLoader loader, @Nullable ScanCache cache, @NotNull String scope, @NotNull Consumer<Class<?>> references, boolean parallel) throws IOException {
+        @Nullable Collection<String> cached = cache != null ? cache.get(root, scope) : null;
+
+        if (cached != null) {
+            Classes.visit(root, cached, new Visitor(references, ConcurrentHashMap.newKeySet(), loader));
+        } else {
+            @NotNull Set<String> found = ConcurrentHashMap.newKeySet();
+            Classes.visit(root, getPackageFilter(), new Visitor(references, found, loader), parallel, mapped);
+
+            if (cache != null) {
+                cache.put(root, scope, found);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the roots (jar files and directories) that should be scanned, together with the class loader
+     * the classes should be loaded from.
+     * <p>
+     * Without class loaders, the roots are the ones at the {@code java.class.path} and an empty loader, which means the
+     * classes are loaded through the system class loader and defined at the plugins class loader if it fails. With
+     * class loaders, only the roots of the given loaders are scanned (not the roots of their parents), retrieved
+     * from the {@link URLClassLoader#getURLs()} or from the loader's own resources of the requested packages.
+     *
+     * @return the roots and the class loader of each one
+     * @throws IOException if an I/O error occurs while retrieving the class loader resources
+     */
+    private @NotNull Map<File, Optional<ClassLoader>> getRoots() throws IOException {
+        @NotNull Map<File, Optional<ClassLoader>> roots = new LinkedHashMap<>();
+
+        if (classLoaders.isEmpty()) {
+            for (@NotNull File root : Classes.getClassPathRoots()) {
+                roots.put(root, Optional.empty());
+            }
+
+            return roots;
+        }
+
+        for (@NotNull ClassLoader loader : classLoaders) {
+            if (loader instanceof URLClassLoader) {
+                for (@NotNull URL url : ((URLClassLoader) loader).getURLs()) {
+                    @Nullable File root = Classes.getRoot(url, "");
+                    if (root != null) roots.putIfAbsent(root, Optional.of(loader));
+                }
+            }
+
+            // The loader's own resources, the package directories (or the roots itself) and the jar manifests
+            @NotNull Set<String> paths = new LinkedHashSet<>();
+            paths.add("META-INF/MANIFEST.MF");
+
+            if (packages.isEmpty()) {
+                paths.add("");
+            } else for (@NotNull String packge : packages.keySet()) {
+                paths.add(packge.replace('.', '/'));
+            }
+
+            for (@NotNull String path : paths) {
+                for (@NotNull URL url : getResources(loader, path)) {
+                    @Nullable File root = Classes.getRoot(url, path);
+                    if (root != null) roots.putIfAbsent(root, Optional.of(loader));
+                }
+            }
+        }
+
+        return roots;
+    }
+    /**
+     * Retrieves the bootstraps generated by the {@link codes.laivy.plugin.processor.PluginProcessor} for the roots
+     * of the class loaders. A bootstrap that cannot be loaded is ignored, its root is scanned as any other.
+     * <p>
+     * The root of a bootstrap is empty when its class file isn't available as a resource (e.g. at native images),
+     * there's nothing to scan there anyway.
+     *
+     * @return the bootstraps and their roots
+     */
+    private @NotNull Map<PluginBootstrap, Optional<File>> getBootstraps() {
+        @NotNull Map<PluginBootstrap, Optional<File>> bootstraps = new LinkedHashMap<>();
+        @NotNull Set<Class<?>> types = new HashSet<>();
+
+        for (@NotNull ClassLoader loader : classLoaders.isEmpty() ? Collections.singleton(ClassLoader.getSystemClassLoader()) : classLoaders) {
+            @NotNull Iterator<PluginBootstrap> iterator = ServiceLoader.load(PluginBootstrap.class, loader).iterator();
+
+            while (true) {
+                @NotNull PluginBootstrap bootstrap;
+
+                try {
+                    if (!iterator.hasNext()) break;
+                    bootstrap = iterator.next();
+                } catch (@NotNull ServiceConfigurationError | @NotNull LinkageError | @NotNull IllegalStateException ignore) {
+                    // Outdated or broken bootstrap
+                    continue;
+                }
+
+                @NotNull Class<?> type = bootstrap.getClass();
+
+                if (!classLoaders.isEmpty() && !classLoaders.contains(type.getClassLoader())) {
+                    continue;
+                } else if (!types.add(type)) {
+                    // Also visible from another class loader
+                    continue;
+                }
+
+                // The root the bootstrap class was loaded from
+                @NotNull String path = type.getName().replace('.', '/') + ".class";
+                @Nullable URL url = type.getClassLoader() != null ? type.getClassLoader().getResource(path) : null;
+                @Nullable File root = url != null ? Classes.getRoot(url, path) : null;
+
+                if (root == null || !bootstraps.containsValue(Optional.of(root))) {
+                    bootstraps.put(bootstrap, Optional.ofNullable(root));
+                }
+            }
+        }
+
+        return bootstraps;
+    }
+    private @NotNull Set<URL> getResources(@NotNull ClassLoader loader, @NotNull String path) throws IOException {
+        @NotNull Set<URL> resources = new LinkedHashSet<>(Collections.list(loader.getResources(path)));
+
+        // Only the loader's own resources, not the parent ones
+        if (!classLoaders.isEmpty() && loader.getParent() != null) {
+            resources.removeAll(Collections.list(loader.getParent().getResources(path)));
+        }
+
+        return resources;
+    }
+    /**
+     * @return the filters applied by the scan, sorted so the same filters always generate the same string
+     */
+    private @NotNull String getFilters() {
+        return "loaders=" + classLoaders.stream().map(loader -> loader.getClass().getName()).sorted().collect(Collectors.toList()) +
+                " categories=" + categories.stream().map(String::toLowerCase).sorted().collect(Collectors.toList()) +
+                " initializers=" + initializers.stream().map(Class::getName).sorted().collect(Collectors.toList()) +
+                " names=" + names.stream().sorted().collect(Collectors.toList()) +
+                " descriptions=" + descriptions.stream().sorted().collect(Collectors.toList()) +
+                " dependencies=" + dependencies.stream().map(Class::getName).sorted().collect(Collectors.toList());
+    }
+    private @NotNull String getScope() {
+        if (packages.isEmpty()) {
+            return "*";
+        }
+
+        // Sorted, so the same packages always generate the same scope
+        @NotNull Set<String> scope = new TreeSet<>();
+
+        for (@NotNull Entry<String, Boolean> entry : packages.entrySet()) {
+            scope.add(entry.getKey() + (entry.getValue() ? ".*" : ""));
+        }
+
+        return String.join(",", scope);
+    }
+
+    private static @NotNull Set<Class<?>> getDependencies(@NotNull PluginDescriptor descriptor) {
+        @NotNull Class<?> reference = descriptor.getReference();
+        @NotNull Set<Class<?>> dependencies = new LinkedHashSet<>();
+
+        for (@NotNull Class<?> dependency : descriptor.getDependencies()) {
+            // Check issues
+            // Longer cycles are detected with all the builders, see DependencyScheduler#checkCycles
+            if (dependency == reference) {
+                throw new InvalidPluginException(reference, "the plugin cannot have a dependency on itself");
+            }
+
+            // Register it
+            dependencies.add(dependency);
+        }
+
+        // Finish
+        return dependencies;
+    }
+
+    private static boolean callCategory(@NotNull Builder builder, @NotNull PluginCategory category) {
+        if (!category.accept(builder)) {
+            return true;
+        }
+
+        // Handlers
+        for (@NotNull PluginHandler handler : category.getHandlers()) {
+            try {
+                if (!handler.accept(builder)) {
+                    return true;
+                }
+            } catch (@NotNull Throwable throwable) {
+                throw new RuntimeException("cannot invoke category's handler to accept '" + category + "': " + handler);
+            }
+        }
+
+        // Finish
+        return false;
+    }
+    private static boolean callCategory(@NotNull PluginInfo plugin, @NotNull PluginCategory category) {
+        if (!category.accept(plugin)) {
+            return true;
+        }
+
+        // Handlers
+        for (@NotNull PluginHandler handler : category.getHandlers()) {
+            try {
+                if (!handler.accept(plugin)) {
+                    return true;
+                }
             } catch (@NotNull Throwable throwable) {
                 throw new RuntimeException("cannot invoke category's handler to accept '" + category + "': " + handler);
             }
@@ -830,15 +1762,236 @@ final class PluginFinderImpl implements PluginFinder {
 
     // Classes
 
+    private final class Visitor implements Classes.ClassConsumer {
+
+        // Object
+
+        private final @NotNull Consumer<Class<?>> references;
+        private final @NotNull Set<String> found;
+        private final @Nullable ClassLoader loader;
+
+        private Visitor(@NotNull Consumer<Class<?>> references, @NotNull Set<String> found, @Nullable ClassLoader loader) {
+            this.references = references;
+            this.found = found;
+            this.loader = loader;
+        }
+
+        // Modules
+
+        @Override
+        public void accept(@NotNull String name, byte @NotNull [] bytes, int length) {
+            @NotNull String packge = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : "";
+
+            if (!checkPackageWithin(packge)) {
+                return;
+            }
+
+            // Fast check: a plugin class must have the @Plugin descriptor at its constant pool
+            if (!Classes.contains(bytes, length, PLUGIN_DESCRIPTOR)) {
+                return;
+            }
+
+            // Confirm by reading only the class annotations
+            @NotNull AtomicBoolean plugin = new AtomicBoolean(false);
+            @NotNull AtomicBoolean valid = new AtomicBoolean(true);
+
+            @NotNull ClassReader reader;
+
+            try {
+                reader = new ClassReader(bytes, 0, length);
+            } catch (@NotNull IllegalArgumentException | @NotNull ArrayIndexOutOfBoundsException e) {
+                // Malformed or unsupported class file
+                return;
+            }
+
+            @NotNull ClassVisitor visitor = new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    if (descriptor.equals(PLUGIN_ANNOTATION)) {
+                        plugin.set(true);
+                    }
+
+                    if (valid.get()) {
+                        return new AnnotationVisitor(Opcodes.ASM9) {
+                            @Override
+                            public void visit(String name, Object value) {
+                                if (descriptor.equals(PLUGIN_ANNOTATION)) {
+                                    if (!names.isEmpty() && name.equals("name") && !names.contains(value.toString())) {
+                                        valid.set(false);
+                                    } else if (!descriptions.isEmpty() && name.equals("description") && !descriptions.contains(value.toString())) {
+                                        valid.set(false);
+                                    }
+                                } else if (descriptor.equals(CATEGORY_ANNOTATION)) {
+                                    if (!categories.isEmpty() && name.equals("value") && categories.stream().noneMatch(category -> category.equalsIgnoreCase(value.toString()))) {
+                                        valid.set(false);
+                                    }
+                                } else if (descriptor.equals(INITIALIZER_ANNOTATION)) {
+                                    // Class values are visited as types, the classes aren't loaded
+                                    if (!initializers.isEmpty() && name.equals("type") && initializers.stream().noneMatch(initializer -> initializer.getName().equals(((Type) value).getClassName()))) {
+                                        valid.set(false);
+                                    }
+                                } else if (descriptor.equals(DEPENDENCY_ANNOTATION)) {
+                                    if (!dependencies.isEmpty() && name.equals("type") && dependencies.stream().noneMatch(dependency -> dependency.getName().equals(((Type) value).getClassName()))) {
+                                        valid.set(false);
+                                    }
+                                }
+
+                                super.visit(name, value);
+                            }
+                        };
+                    }
+
+                    return super.visitAnnotation(descriptor, visible);
+                }
+            };
+
+            reader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+            if (!plugin.get()) {
+                return;
+            }
+
+            // It's a plugin, load it
+            found.add(name);
+
+            try {
+                @NotNull Class<?> reference = Class.forName(name, false, loader != null ? loader : ClassLoader.getSystemClassLoader());
+
+                if (classLoaders.isEmpty() || classLoaders.contains(reference.getClassLoader())) {
+                    references.accept(reference);
+                }
+            } catch (@NotNull ClassNotFoundException | @NotNull NoClassDefFoundError e) {
+                // Only classes of the classpath roots are defined, the classes of the given class loaders must be loaded by them
+                if (loader == null && valid.get()) try {
+                    references.accept(Classes.define(bytes, length));
+                } catch (@NotNull RuntimeException | @NotNull LinkageError define) {
+                    // Already defined by another scan task (same class at multiple roots)
+                    try {
+                        references.accept(Class.forName(name, false, Plugins.class.getClassLoader()));
+                    } catch (@NotNull ClassNotFoundException ignore) {
+                        throw define;
+                    }
+                }
+            }
+        }
+
+    }
+    private final class Discovery extends Spliterators.AbstractSpliterator<Class<?>> {
+
+        // Object
+
+        private final @NotNull BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final @NotNull Thread thread;
+
+        private volatile boolean cancelled = false;
+        private boolean finished = false;
+
+        private Discovery() {
+            super(Long.MAX_VALUE, Spliterator.DISTINCT | Spliterator.NONNULL);
+
+            this.thread = new Thread(this::discover, "Plug-ins Discovery");
+            this.thread.setDaemon(true);
+        }
+
+        // Modules
+
+        public void start() {
+            thread.start();
+        }
+        public void cancel() {
+            cancelled = true;
+            thread.interrupt();
+        }
+
+        private void discover() {
+            try {
+                PluginFinderImpl.this.discover(reference -> {
+                    if (cancelled) {
+                        throw new CancellationException();
+                    }
+
+                    queue.add(reference);
+                }, Collections.emptySet());
+            } catch (@NotNull CancellationException ignore) {
+            } catch (@NotNull Throwable throwable) {
+                if (!cancelled) queue.add(throwable);
+            } finally {
+                queue.add(END);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super Class<?>> action) {
+            if (finished) {
+                return false;
+            }
+
+            @NotNull Object next;
+
+            try {
+                next = queue.take();
+            } catch (@NotNull InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+
+                throw new CancellationException("the plugin discovery has been interrupted");
+            }
+
+            if (next == END) {
+                finished = true;
+                return false;
+            } else if (next instanceof IOException) {
+                finished = true;
+                throw new UncheckedIOException((IOException) next);
+            } else if (next instanceof RuntimeException) {
+                finished = true;
+                throw (RuntimeException) next;
+            } else if (next instanceof Error) {
+                finished = true;
+                throw (Error) next;
+            } else if (next instanceof Throwable) {
+                finished = true;
+                throw new RuntimeException("cannot discover plugin classes", (Throwable) next);
+            }
+
+            action.accept((Class<?>) next);
+            return true;
+        }
+
+    }
+    private static final class Completion {
+
+        // Object
+
+        private final @NotNull Builder builder;
+        private final @NotNull PluginInfo plugin;
+        private final @Nullable Throwable failure;
+
+        private Completion(@NotNull Builder builder, @NotNull PluginInfo plugin, @Nullable Throwable failure) {
+            this.builder = builder;
+            this.plugin = plugin;
+            this.failure = failure;
+        }
+
+    }
     private static final class ShutdownHook extends Thread {
 
         // Object
 
         private final @NotNull Collection<PluginInfo> plugins;
+        private final @Nullable Executor executor;
 
-        public ShutdownHook(@NotNull Collection<PluginInfo> plugins) {
+        private final @Nullable Duration timeout;
+        private final @NotNull TimeoutPolicy policy;
+
+        public ShutdownHook(@NotNull Collection<PluginInfo> plugins, @Nullable Executor executor, @Nullable Duration timeout, @NotNull TimeoutPolicy policy) {
             super("Plug-ins Shutdown Hook");
+
             this.plugins = plugins;
+            this.executor = executor;
+
+            this.timeout = timeout;
+            this.policy = policy;
         }
 
         // Getters
@@ -854,6 +2007,11 @@ final class PluginFinderImpl implements PluginFinder {
             @NotNull List<PluginInfo> plugins = new LinkedList<>(getPlugins());
             Collections.reverse(plugins);
 
+            if (executor != null) {
+                close(plugins, executor);
+                return;
+            }
+
             // Loop
             for (@NotNull PluginInfo info : plugins) {
                 if (!info.isAutoClose()) {
@@ -862,12 +2020,77 @@ final class PluginFinderImpl implements PluginFinder {
                     continue;
                 }
 
+                close(info);
+            }
+        }
+
+        /**
+         * Closes the plugin within its close timeout.
+         *
+         * @param info the plugin
+         */
+        private void close(@NotNull PluginInfo info) {
+            @Nullable Duration timeout = PluginDescriptor.of(info.getReference()).getCloseTimeout();
+
+            try {
+                Deadlines.run(info, "close", timeout != null ? timeout : this.timeout, info::close);
+            } catch (@NotNull TimeoutException e) {
+                if (policy == TimeoutPolicy.ABORT) {
+                    throw new RuntimeException(new PluginInterruptException(info.getReference(), e.getMessage(), e));
+                }
+            } catch (@NotNull RuntimeException | Error e) {
+                throw e;
+            } catch (@NotNull Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+
+        /**
+         * Closes the plugins concurrently, each plugin closes at the executor as soon as all of its dependants
+         * (that are part of this hook) have been closed.
+         *
+         * @param plugins  the plugins in the reverse order they were started
+         * @param executor the executor used to close the plugins
+         */
+        private void close(@NotNull List<PluginInfo> plugins, @NotNull Executor executor) {
+            @NotNull Map<PluginInfo, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+            // The dependants were started after their dependencies, so they're always created first here
+            for (@NotNull PluginInfo info : plugins) {
+                @NotNull CompletableFuture<?>[] dependants = info.getDependants().stream()
+                        .map(futures::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+
+                futures.put(info, CompletableFuture.allOf(dependants).handle((result, throwable) -> null).thenRunAsync(() -> {
+                    if (!info.isAutoClose() || info.getState() != PluginInfo.State.RUNNING) {
+                        return;
+                    }
+
+                    close(info);
+                }, executor));
+            }
+
+            // Wait and report every failure
+            @Nullable RuntimeException failure = null;
+
+            for (@NotNull CompletableFuture<Void> future : futures.values()) {
                 try {
-                    info.close();
-                } catch (@NotNull PluginInterruptException e) {
-                    throw new RuntimeException(e);
+                    future.join();
+                } catch (@NotNull CompletionException e) {
+                    @NotNull Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+                    if (failure == null) {
+                        failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
                 }
             }
+
+            if (failure != null) {
+                throw failure;
+            }
         }
     }
 
@@ -0,0 +1,173 @@
+package codes.laivy.plugin.main;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Reads the plugin index files generated at compile time by the {@code codes.laivy.plugin.processor.PluginProcessor}
+ * annotation processor.
+ * <p>
+ * Every classpath root (directory or jar) that has been compiled with the processor contains a
+ * {@link #LOCATION} file listing all the {@code @Plugin} classes of that root, one per line, using the format:
+ * <pre>{@code
+ * com.acme.MyPlugin initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer priority=0 category=Utility dependency=com.acme.Other
+ * }</pre>
+ * The first token is the binary name of the plugin class, followed by {@code key=value} attributes separated
+ * by spaces. The {@code category} and {@code dependency} attributes may repeat, all values are URL encoded
+ * (UTF-8) and lines starting with {@code #} are comments.
+ * <p>
+ * When a root has an index, the finder reads only the classes listed at it instead of walking through all of the
+ * root's entries.
+ */
+final class PluginIndex {
+
+    // Static initializers
+
+    public static final @NotNull String LOCATION = "META-INF/jplugin/index";
+
+    public static @NotNull List<@NotNull Entry> read(@NotNull URL url) throws IOException {
+        try (@NotNull InputStream stream = url.openStream()) {
+            return read(stream);
+        }
+    }
+    public static @NotNull List<@NotNull Entry> read(@NotNull InputStream stream) throws IOException {
+        @NotNull List<Entry> entries = new LinkedList<>();
+        @NotNull BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+
+        @Nullable String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            @NotNull String[] parts = line.split(" ");
+
+            @NotNull String initializer = "codes.laivy.plugin.initializer.ConstructorPluginInitializer";
+            int priority = 0;
+            @NotNull List<String> categories = new ArrayList<>();
+            @NotNull List<String> dependencies = new ArrayList<>();
+
+            for (int index = 1; index < parts.length; index++) {
+                @NotNull String part = parts[index];
+                int separator = part.indexOf('=');
+
+                if (separator <= 0) {
+                    continue;
+                }
+
+                @NotNull String key = part.substring(0, separator);
+                @NotNull String value = URLDecoder.decode(part.substring(separator + 1), "UTF-8");
+
+                switch (key) {
+                    case "initializer":
+                        initializer = value;
+                        break;
+                    case "priority":
+                        try {
+                            priority = Integer.parseInt(value);
+                        } catch (@NotNull NumberFormatException e) {
+                            throw new IOException("invalid priority at plugin index entry: " + line, e);
+                        }
+                        break;
+                    case "category":
+                        categories.add(value);
+                        break;
+                    case "dependency":
+                        dependencies.add(value);
+                        break;
+                }
+            }
+
+            entries.add(new Entry(parts[0], initializer, priority, categories, dependencies));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Retrieves the classpath root (the jar file or the classes directory) that contains the index file
+     * represented by the given url.
+     *
+     * @param url the url of the index file
+     * @return the root file, or null if the url protocol isn't supported
+     */
+    public static @Nullable File getRoot(@NotNull URL url) {
+        return Classes.getRoot(url, LOCATION);
+    }
+
+    // Object
+
+    private PluginIndex() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+    // Classes
+
+    static final class Entry {
+
+        // Object
+
+        private final @NotNull String name;
+        private final @NotNull String initializer;
+        private final int priority;
+
+        private final @NotNull List<String> categories;
+        private final @NotNull List<String> dependencies;
+
+        private Entry(@NotNull String name, @NotNull String initializer, int priority, @NotNull List<String> categories, @NotNull List<String> dependencies) {
+            this.name = name;
+            this.initializer = initializer;
+            this.priority = priority;
+            this.categories = Collections.unmodifiableList(categories);
+            this.dependencies = Collections.unmodifiableList(dependencies);
+        }
+
+        // Getters
+
+        public @NotNull String getName() {
+            return name;
+        }
+        public @NotNull String getPackage() {
+            return name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : "";
+        }
+
+        public @NotNull String getInitializer() {
+            return initializer;
+        }
+        public int getPriority() {
+            return priority;
+        }
+
+        public @Unmodifiable @NotNull List<String> getCategories() {
+            return categories;
+        }
+        public @Unmodifiable @NotNull List<String> getDependencies() {
+            return dependencies;
+        }
+
+        // Implementations
+
+        @Override
+        public @NotNull String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.category.PluginCategory;
+import codes.laivy.plugin.exception.InvalidPluginException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The plugins registered at a factory, by their classes, in registration order.
+ * <p>
+ * The registry can be read and written concurrently by any thread (several loads, the lazy activations and the
+ * shutdown hooks). The lookups are lock-free reads of a {@link ConcurrentHashMap}, and each registration only
+ * locks the map bin of its own class. The registration order is kept by a sequence number assigned to each class
+ * at its first registration: registering a class again replaces its plugin but keeps its position.
+ * <p>
+ * The registry also indexes the plugins by their {@link PluginInfo#getName() names}, so they're retrieved by name
+ * in constant time. The names are unique: registering a plugin with the name of a plugin of another class is
+ * rejected, and a name is released when its class is registered again with another name.
+ * <p>
+ * The members of each category (by its case-insensitive name) are indexed too. A plugin joins the sets of its
+ * categories when it's registered, and the sets are updated by {@link #categorize(PluginInfo, PluginCategory, boolean)}
+ * when the categories of a registered plugin change. {@link #getPlugins(PluginCategory)} returns a live view of a set.
+ * <p>
+ * The iteration ({@link #values()}, {@link #iterator()} and {@link #stream()}) works over a snapshot of the plugins
+ * taken when it starts, so it never throws {@link ConcurrentModificationException} and it's not affected by the
+ * registrations made while iterating.
+ */
+final class PluginRegistry implements Iterable<PluginInfo> {
+
+    // Object
+
+    private final @NotNull AtomicLong sequence = new AtomicLong();
+
+    private final @NotNull Map<Class<?>, Node> nodes = new ConcurrentHashMap<>();
+    private final @NotNull Map<Long, Node> order = new ConcurrentSkipListMap<>();
+    private final @NotNull Map<String, Class<?>> names = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Set<PluginInfo>> members = new ConcurrentHashMap<>();
+
+    public PluginRegistry() {
+    }
+
+    // Getters
+
+    public @Nullable PluginInfo get(@NotNull Class<?> reference) {
+        @Nullable Node node = nodes.get(reference);
+        return node != null ? node.plugin : null;
+    }
+    public @Nullable PluginInfo get(@NotNull String name) {
+        @Nullable Class<?> reference = names.get(name);
+        return reference != null ? get(reference) : null;
+    }
+    public boolean contains(@NotNull Class<?> reference) {
+        return nodes.containsKey(reference);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param category the category
+     * @return a live unmodifiable view of the registered plugins that belong to the category
+     */
+    public @UnmodifiableView @NotNull Set<@NotNull PluginInfo> getPlugins(@NotNull PluginCategory category) {
+        return Collections.unmodifiableSet(members(category));
+    }
+
+    /**
+     * @return a snapshot of the registered plugins, in registration order
+     */
+    public @Unmodifiable @NotNull List<@NotNull PluginInfo> values() {
+        @NotNull List<PluginInfo> values = new ArrayList<>(order.size());
+
+        for (@NotNull Node node : order.values()) {
+            values.add(node.plugin);
+        }
+
+        return Collections.unmodifiableList(values);
+    }
+
+    // Modules
+
+    /**
+     * Registers the plugin of the class, replacing the plugin previously registered for it.
+     *
+     * @param reference the plugin class
+     * @param plugin    the plugin
+     * @return the plugin previously registered for the class, or null if it's the first registration
+     * @throws InvalidPluginException if a plugin of another class is already registered with the same name
+     */
+    public @Nullable PluginInfo put(@NotNull Class<?> reference, @NotNull PluginInfo plugin) {
+        // Reserve the name first, so two plugins with the same name can't be registered concurrently
+        @Nullable String name = plugin.getName();
+
+        if (name != null) {
+            @Nullable Class<?> owner = names.putIfAbsent(name, reference);
+
+            if (owner != null && owner != reference) {
+                throw new InvalidPluginException(reference, "there's already a plugin named '" + name + "' registered: " + owner.getName());
+            }
+        }
+
+        @NotNull PluginInfo @NotNull [] previous = new PluginInfo[1];
+        boolean @NotNull [] created = new boolean[1];
+
+        @NotNull Node current = nodes.compute(reference, (key, node) -> {
+            if (node == null) {
+                created[0] = true;
+                return new Node(sequence.getAndIncrement(), plugin);
+            }
+
+            previous[0] = node.plugin;
+            node.plugin = plugin;
+
+            return node;
+        });
+
+        // Ordered only after the node is visible by its class, so an iteration never has a plugin that can't be retrieved yet
+        if (created[0]) {
+            order.put(current.sequence, current);
+        }
+
+        // Release the previous name of the class
+        @Nullable String released = previous[0] != null ? previous[0].getName() : null;
+
+        if (released != null && !released.equals(name)) {
+            names.remove(released, reference);
+        }
+
+        // Category members
+        if (previous[0] != null && previous[0] != plugin) {
+            for (@NotNull PluginCategory category : previous[0].getCategories()) {
+                members(category).remove(previous[0]);
+            }
+        }
+        for (@NotNull PluginCategory category : plugin.getCategories()) {
+            members(category).add(plugin);
+        }
+
+        return previous[0];
+    }
+
+    /**
+     * Updates the members of the category after the plugin joined or left it. Changes of plugins that aren't
+     * registered (or were replaced by another plugin of the same class) are ignored.
+     *
+     * @param plugin   the plugin
+     * @param category the category
+     * @param member   true if the plugin joined the category, false if it left it
+     */
+    public void categorize(@NotNull PluginInfo plugin, @NotNull PluginCategory category, boolean member) {
+        if (get(plugin.getReference()) != plugin) {
+            return;
+        }
+
+        if (member) {
+            members(category).add(plugin);
+        } else {
+            members(category).remove(plugin);
+        }
+    }
+
+    private @NotNull Set<PluginInfo> members(@NotNull PluginCategory category) {
+        return members.computeIfAbsent(category.getName().toLowerCase(), name -> ConcurrentHashMap.newKeySet());
+    }
+
+    // Iterator and stream
+
+    @Override
+    public @NotNull Iterator<PluginInfo> iterator() {
+        return values().iterator();
+    }
+    public @NotNull Stream<PluginInfo> stream() {
+        return values().stream();
+    }
+
+    // Implementations
+
+    @Override
+    public @NotNull String toString() {
+        return "PluginRegistry{" +
+                "plugins=" + values() +
+                '}';
+    }
+
+    // Classes
+
+    private static final class Node {
+
+        // Object
+
+        private final long sequence;
+        private volatile @NotNull PluginInfo plugin;
+
+        private Node(long sequence, @NotNull PluginInfo plugin) {
+            this.sequence = sequence;
+            this.plugin = plugin;
+        }
+
+    }
+
+}
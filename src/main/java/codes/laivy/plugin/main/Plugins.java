@@ -9,6 +9,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Plugins class serves as a central utility and access point for the plugin framework.
@@ -237,6 +238,90 @@ public final class Plugins {
         getFactory().interruptAll();
     }
 
+    // Asynchronous initialization and interruption
+
+    /**
+     * Asynchronously initializes plugins loaded by the specified ClassLoader within the given package.
+     *
+     * @param loader    The ClassLoader that loaded the plugins. Must not be null.
+     * @param packge    The package name to search for plugins. Must not be null.
+     * @param recursive If true, sub-packages are also included.
+     * @return A future completed with the initialized plugins.
+     * @see PluginFactory#initializeAsync(ClassLoader, String, boolean)
+     */
+    public static @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAsync(@NotNull ClassLoader loader, @NotNull String packge, boolean recursive) {
+        return getFactory().initializeAsync(loader, packge, recursive);
+    }
+
+    /**
+     * Asynchronously initializes plugins within the specified package using the current thread's context ClassLoader.
+     *
+     * @param packge    The package name to search for plugins. Must not be null.
+     * @param recursive If true, sub-packages are also included.
+     * @return A future completed with the initialized plugins.
+     * @see PluginFactory#initializeAsync(String, boolean)
+     */
+    public static @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAsync(@NotNull String packge, boolean recursive) {
+        return getFactory().initializeAsync(packge, recursive);
+    }
+
+    /**
+     * Asynchronously initializes all available plugins.
+     *
+     * @return A future completed with the initialized plugins.
+     * @see PluginFactory#initializeAllAsync()
+     */
+    @ApiStatus.Experimental
+    public static @NotNull CompletableFuture<@NotNull PluginInfo @NotNull []> initializeAllAsync() {
+        return getFactory().initializeAllAsync();
+    }
+
+    /**
+     * Asynchronously interrupts all plugins loaded by the specified ClassLoader within the given package.
+     *
+     * @param loader    The ClassLoader that loaded the plugins. Must not be null.
+     * @param packge    The package name to search for plugins. Must not be null.
+     * @param recursive If true, sub-packages are also processed.
+     * @return A future completed when the plugins have been interrupted.
+     * @see PluginFactory#interruptAsync(ClassLoader, String, boolean)
+     */
+    public static @NotNull CompletableFuture<Void> interruptAsync(@NotNull ClassLoader loader, @NotNull String packge, boolean recursive) {
+        return getFactory().interruptAsync(loader, packge, recursive);
+    }
+
+    /**
+     * Asynchronously interrupts all plugins within the specified package using the current thread's context ClassLoader.
+     *
+     * @param packge    The package name to search for plugins. Must not be null.
+     * @param recursive If true, sub-packages are also processed.
+     * @return A future completed when the plugins have been interrupted.
+     * @see PluginFactory#interruptAsync(String, boolean)
+     */
+    public static @NotNull CompletableFuture<Void> interruptAsync(@NotNull String packge, boolean recursive) {
+        return getFactory().interruptAsync(packge, recursive);
+    }
+
+    /**
+     * Asynchronously interrupts all active plugins.
+     *
+     * @return A future completed when all the plugins have been interrupted.
+     * @see PluginFactory#interruptAllAsync()
+     */
+    public static @NotNull CompletableFuture<Void> interruptAllAsync() {
+        return getFactory().interruptAllAsync();
+    }
+
+    /**
+     * Returns a future that completes when the plugin of the given class reference is running.
+     *
+     * @param reference The Class representing the plugin. Must not be null.
+     * @return A future completed with the plugin once it's running.
+     * @see PluginFactory#await(Class)
+     */
+    public static @NotNull CompletableFuture<@NotNull PluginInfo> await(@NotNull Class<?> reference) {
+        return getFactory().await(reference);
+    }
+
     // Private constructor to prevent instantiation
 
     /**
@@ -0,0 +1,246 @@
+package codes.laivy.plugin.main;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent cache of the plugin classes found at each scanned jar file.
+ * <p>
+ * Every entry is keyed by the jar's absolute path and the package scope used to scan it, and stores
+ * the jar's fingerprint (size, last modification time and, optionally, the CRC-32 of its contents) together
+ * with the names of the plugin classes found at it. When a jar fingerprint didn't change since the last scan,
+ * its cached class names are used and the jar isn't scanned again.
+ * <p>
+ * Directories aren't cached since their fingerprint cannot be computed without walking through them.
+ */
+final class ScanCache {
+
+    // Static initializers
+
+    private static final @NotNull String HEADER = "# jplugin scan cache v1";
+
+    public static @NotNull ScanCache load(@NotNull File file, boolean checksum) throws IOException {
+        @NotNull ScanCache cache = new ScanCache(file, checksum);
+
+        if (!file.isFile()) {
+            return cache;
+        }
+
+        try (@NotNull BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+            if (!HEADER.equals(reader.readLine())) {
+                // Unknown or corrupted cache, it will be overwritten
+                return cache;
+            }
+
+            @Nullable Entry entry = null;
+            @Nullable String line;
+
+            while ((line = reader.readLine()) != null) {
+                @NotNull String[] parts = line.split(" ");
+
+                if (parts[0].equals("root") && parts.length == 6) try {
+                    @NotNull String path = URLDecoder.decode(parts[1], "UTF-8");
+                    @NotNull String scope = URLDecoder.decode(parts[2], "UTF-8");
+                    @NotNull Fingerprint fingerprint = new Fingerprint(Long.parseLong(parts[3]), Long.parseLong(parts[4]), Long.parseLong(parts[5]));
+
+                    entry = new Entry(path, scope, fingerprint, new LinkedHashSet<>());
+                    cache.entries.put(key(path, scope), entry);
+                } catch (@NotNull NumberFormatException ignore) {
+                    entry = null;
+                } else if (parts[0].equals("class") && parts.length == 2 && entry != null) {
+                    entry.names.add(parts[1]);
+                }
+            }
+        }
+
+        return cache;
+    }
+
+    private static @NotNull String key(@NotNull String path, @NotNull String scope) {
+        return path + '\n' + scope;
+    }
+
+    // Object
+
+    private final @NotNull File file;
+    private final boolean checksum;
+
+    private final @NotNull Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final @NotNull Map<File, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    private volatile boolean changed = false;
+
+    private ScanCache(@NotNull File file, boolean checksum) {
+        this.file = file;
+        this.checksum = checksum;
+    }
+
+    // Getters
+
+    public @NotNull File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the plugin class names cached for the given root, if the root didn't change since they were stored.
+     *
+     * @param root  the classpath root
+     * @param scope the package scope of the scan
+     * @return the cached class names, or null if there's no valid cache for the root
+     * @throws IOException if the root fingerprint cannot be computed
+     */
+    public @Unmodifiable @Nullable Collection<@NotNull String> get(@NotNull File root, @NotNull String scope) throws IOException {
+        if (!root.isFile()) {
+            return null;
+        }
+
+        @Nullable Entry entry = entries.get(key(root.getPath(), scope));
+
+        if (entry != null && entry.fingerprint.equals(fingerprint(root))) {
+            return Collections.unmodifiableSet(entry.names);
+        } else {
+            return null;
+        }
+    }
+
+    // Modules
+
+    public void put(@NotNull File root, @NotNull String scope, @NotNull Collection<@NotNull String> names) throws IOException {
+        if (!root.isFile()) {
+            return;
+        }
+
+        entries.put(key(root.getPath(), scope), new Entry(root.getPath(), scope, fingerprint(root), new LinkedHashSet<>(names)));
+        changed = true;
+    }
+
+    public void save() throws IOException {
+        // Remove the entries of jars that doesn't exist anymore
+        changed |= entries.values().removeIf(entry -> !new File(entry.path).isFile());
+
+        if (!changed) {
+            return;
+        }
+
+        @Nullable File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("cannot create scan cache directory: " + parent);
+        }
+
+        // Write to a temporary file and then move it, the cache is never left half-written
+        @NotNull File temporary = new File(file.getPath() + ".tmp");
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temporary.toPath()), StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            writer.write('\n');
+
+            for (@NotNull Entry entry : entries.values()) {
+                writer.write("root " + URLEncoder.encode(entry.path, "UTF-8") + " " + URLEncoder.encode(entry.scope, "UTF-8") + " " + entry.fingerprint.size + " " + entry.fingerprint.modified + " " + entry.fingerprint.crc + "\n");
+
+                for (@NotNull String name : entry.names) {
+                    writer.write("class " + name + "\n");
+                }
+            }
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (@NotNull AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        changed = false;
+    }
+
+    // Utilities
+
+    private @NotNull Fingerprint fingerprint(@NotNull File root) throws IOException {
+        @Nullable Fingerprint fingerprint = fingerprints.get(root);
+
+        if (fingerprint == null) {
+            long crc = -1;
+
+            if (checksum) {
+                @NotNull CRC32 checksum = new CRC32();
+
+                try (@NotNull InputStream stream = Files.newInputStream(root.toPath())) {
+                    byte[] data = new byte[8192];
+
+                    int bytesRead;
+                    while ((bytesRead = stream.read(data)) != -1) {
+                        checksum.update(data, 0, bytesRead);
+                    }
+                }
+
+                crc = checksum.getValue();
+            }
+
+            fingerprint = new Fingerprint(root.length(), root.lastModified(), crc);
+            fingerprints.put(root, fingerprint);
+        }
+
+        return fingerprint;
+    }
+
+    // Classes
+
+    private static final class Entry {
+
+        // Object
+
+        private final @NotNull String path;
+        private final @NotNull String scope;
+        private final @NotNull Fingerprint fingerprint;
+        private final @NotNull Set<String> names;
+
+        private Entry(@NotNull String path, @NotNull String scope, @NotNull Fingerprint fingerprint, @NotNull Set<String> names) {
+            this.path = path;
+            this.scope = scope;
+            this.fingerprint = fingerprint;
+            this.names = names;
+        }
+
+    }
+    private static final class Fingerprint {
+
+        // Object
+
+        private final long size;
+        private final long modified;
+        private final long crc;
+
+        private Fingerprint(long size, long modified, long crc) {
+            this.size = size;
+            this.modified = modified;
+            this.crc = crc;
+        }
+
+        // Implementations
+
+        @Override
+        public boolean equals(@Nullable Object object) {
+            if (this == object) return true;
+            if (!(object instanceof Fingerprint)) return false;
+            @NotNull Fingerprint that = (Fingerprint) object;
+            return size == that.size && modified == that.modified && crc == that.crc;
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, modified, crc);
+        }
+
+    }
+
+}
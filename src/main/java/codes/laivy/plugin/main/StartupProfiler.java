@@ -0,0 +1,243 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.factory.StartupReport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the time spent at each phase of a plugin load, and exposes it as the {@link StartupReport}.
+ * <p>
+ * The phases are recorded as wall time using {@link System#nanoTime()}. The allocated bytes are read from the
+ * HotSpot {@code com.sun.management.ThreadMXBean} of the current thread, when enabled and supported. The timings
+ * can be recorded from any thread, since the plugins can be started concurrently.
+ */
+final class StartupProfiler implements StartupReport {
+
+    // Static initializers
+
+    private static final @Nullable com.sun.management.ThreadMXBean THREADS = getThreads();
+
+    private static @Nullable com.sun.management.ThreadMXBean getThreads() {
+        try {
+            @NotNull ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+            if (threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+                return (com.sun.management.ThreadMXBean) threads;
+            }
+        } catch (@NotNull Throwable ignore) {
+            // Not a HotSpot based JVM
+        }
+
+        return null;
+    }
+
+    // Object
+
+    private final boolean allocations;
+    private final long started = System.nanoTime();
+
+    private final @NotNull AtomicLong scan = new AtomicLong();
+    private final @NotNull Map<Class<?>, Timing> timings = new LinkedHashMap<>();
+    private final @NotNull Map<Class<?>, String> skipped = new LinkedHashMap<>();
+
+    private volatile long finished = -1;
+
+    public StartupProfiler(boolean allocations) {
+        this.allocations = allocations && THREADS != null && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    // Getters
+
+    @Override
+    public @NotNull Duration getDuration() {
+        long finished = this.finished;
+        return Duration.ofNanos((finished == -1 ? System.nanoTime() : finished) - started);
+    }
+    @Override
+    public @NotNull Duration getDuration(@NotNull Phase phase) {
+        if (phase == Phase.SCAN) {
+            return Duration.ofNanos(scan.get());
+        }
+
+        long nanos = 0;
+
+        synchronized (timings) {
+            for (@NotNull Timing timing : timings.values()) {
+                nanos += timing.get(phase);
+            }
+        }
+
+        return Duration.ofNanos(nanos);
+    }
+
+    @Override
+    public @Unmodifiable @NotNull Collection<StartupReport.@NotNull Timing> getTimings() {
+        synchronized (timings) {
+            return Collections.unmodifiableList(new ArrayList<>(timings.values()));
+        }
+    }
+    @Override
+    public @NotNull Optional<StartupReport.Timing> getTiming(@NotNull Class<?> reference) {
+        synchronized (timings) {
+            return Optional.ofNullable(timings.get(reference));
+        }
+    }
+    @Override
+    public @Unmodifiable @NotNull Map<Class<?>, String> getSkipped() {
+        synchronized (skipped) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(skipped));
+        }
+    }
+
+    // Modules
+
+    /**
+     * Retrieves the timing of the plugin, creating it if it's the first phase recorded for the plugin.
+     *
+     * @param reference the plugin class
+     * @return the plugin timing
+     */
+    public @NotNull Timing timing(@NotNull Class<?> reference) {
+        synchronized (timings) {
+            return timings.computeIfAbsent(reference, Timing::new);
+        }
+    }
+
+    /**
+     * Records a plugin that the load didn't start.
+     *
+     * @param reference the plugin class
+     * @param reason    the reason it was skipped
+     */
+    public void skip(@NotNull Class<?> reference, @NotNull String reason) {
+        synchronized (skipped) {
+            skipped.putIfAbsent(reference, reason);
+        }
+    }
+
+    /**
+     * Adds time to the scan phase.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void scan(long nanos) {
+        scan.addAndGet(nanos);
+    }
+
+    /**
+     * @return the bytes allocated by the current thread until now, or -1 if the allocation tracking is disabled
+     */
+    public long allocated() {
+        if (!allocations || THREADS == null) {
+            return -1;
+        }
+
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Marks the load as finished, the load duration doesn't grow anymore.
+     */
+    public void finish() {
+        if (finished == -1) {
+            finished = System.nanoTime();
+        }
+    }
+
+    // Implementations
+
+    @Override
+    public @NotNull String toString() {
+        return "StartupReport{" +
+                "duration=" + getDuration() +
+                ", plugins=" + getTimings().size() +
+                '}';
+    }
+
+    // Classes
+
+    static final class Timing implements StartupReport.Timing {
+
+        // Object
+
+        private final @NotNull Class<?> reference;
+
+        private final @NotNull AtomicLongArray phases = new AtomicLongArray(Phase.values().length);
+        private final @NotNull AtomicLong allocated = new AtomicLong(-1);
+
+        private Timing(@NotNull Class<?> reference) {
+            this.reference = reference;
+        }
+
+        // Getters
+
+        @Override
+        public @NotNull Class<?> getReference() {
+            return reference;
+        }
+
+        @Override
+        public @NotNull Duration getDuration() {
+            long nanos = 0;
+
+            for (int index = 0; index < phases.length(); index++) {
+                nanos += phases.get(index);
+            }
+
+            return Duration.ofNanos(nanos);
+        }
+        @Override
+        public @NotNull Duration getDuration(@NotNull Phase phase) {
+            return Duration.ofNanos(get(phase));
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocated.get();
+        }
+
+        // Modules
+
+        public long get(@NotNull Phase phase) {
+            return phases.get(phase.ordinal());
+        }
+        public void add(@NotNull Phase phase, long nanos) {
+            phases.addAndGet(phase.ordinal(), nanos);
+        }
+
+        /**
+         * Adds the bytes allocated by the current thread since the given {@link #allocated()} value.
+         *
+         * @param profiler the profiler
+         * @param since    the allocated bytes at the beginning of the work, or -1 if not tracked
+         */
+        public void allocated(@NotNull StartupProfiler profiler, long since) {
+            long now = profiler.allocated();
+
+            if (since >= 0 && now >= 0) {
+                allocated.updateAndGet(current -> Math.max(current, 0) + (now - since));
+            }
+        }
+
+        // Implementations
+
+        @Override
+        public @NotNull String toString() {
+            return "Timing{" +
+                    "reference=" + reference.getName() +
+                    ", duration=" + getDuration() +
+                    ", allocated=" + getAllocatedBytes() +
+                    '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,675 @@
+package codes.laivy.plugin.processor;
+
+import codes.laivy.plugin.PluginBootstrap;
+import codes.laivy.plugin.annotation.Category;
+import codes.laivy.plugin.annotation.Dependency;
+import codes.laivy.plugin.annotation.Initializer;
+import codes.laivy.plugin.annotation.Plugin;
+import codes.laivy.plugin.annotation.Priority;
+import codes.laivy.plugin.initializer.ConstructorPluginInitializer;
+import codes.laivy.plugin.initializer.MethodPluginInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * An annotation processor that generates the {@code META-INF/jplugin/index} file of the artifact being compiled.
+ * <p>
+ * The index lists every class annotated with {@link Plugin}, together with its {@link Initializer},
+ * {@link Priority}, {@link Category} and {@link Dependency} values. At runtime, the plugin finder reads
+ * those index files through {@link ClassLoader#getResources(String)} and only loads the listed classes, instead
+ * of opening every entry of the indexed jars and directories looking for plugins.
+ * <p>
+ * The processor is registered as a service, so it's enough to have jplugin at the compile classpath for the
+ * index to be generated. Each line of the index has the format:
+ * <pre>{@code
+ * com.acme.MyPlugin initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer priority=0 category=Utility dependency=com.acme.Other
+ * }</pre>
+ * Where all the attribute values are URL encoded (UTF-8).
+ * <p>
+ * The processor also generates a {@code GeneratedPluginBootstrap_<hash>} class (a {@link PluginBootstrap}) at the
+ * common package of the plugins, registered at {@link PluginBootstrap#LOCATION}. The hash is computed from the
+ * plugin classes, so artifacts sharing a package don't generate the same class; the {@code -Ajplugin.bootstrap.name}
+ * compiler option sets the qualified name of the class instead. It declares the plugins in dependency order,
+ * calling their constructors (or static {@code initialize()} methods) directly when they're accessible from that
+ * package, so the finder doesn't need to reflect over them. The bootstrap cannot be generated at the default
+ * package: if the plugins don't have a common package, the name must be set, and plugins of the default package
+ * require the bootstrap to be disabled. The bootstrap isn't registered if the plugins have a dependency cycle, or
+ * if more plugins are generated by other processors after it was generated; and it's disabled with the
+ * {@code -Ajplugin.bootstrap=false} compiler option.
+ * <p>
+ * For GraalVM native images, the processor writes the {@code reflect-config.json} and {@code resource-config.json}
+ * files at {@code META-INF/native-image/jplugin/<package>}, where they're picked up by the {@code native-image}
+ * builder. They register the plugin classes with their empty constructors and {@code initialize}/{@code interrupt}
+ * methods, the custom initializers, the generated bootstrap, the index and the bootstrap service file; so the
+ * plugins are found through the index or the bootstrap at runtime, without any classpath scan.
+ */
+@SupportedAnnotationTypes("codes.laivy.plugin.annotation.Plugin")
+@SupportedOptions({PluginProcessor.BOOTSTRAP_OPTION, PluginProcessor.BOOTSTRAP_NAME_OPTION})
+public final class PluginProcessor extends AbstractProcessor {
+
+    // Static initializers
+
+    public static final @NotNull String LOCATION = "META-INF/jplugin/index";
+
+    public static final @NotNull String BOOTSTRAP_OPTION = "jplugin.bootstrap";
+    public static final @NotNull String BOOTSTRAP_NAME_OPTION = "jplugin.bootstrap.name";
+    public static final @NotNull String BOOTSTRAP_NAME = "GeneratedPluginBootstrap";
+
+    // Object
+
+    private final @NotNull Map<String, String> entries = new TreeMap<>();
+    private final @NotNull Set<Element> elements = new LinkedHashSet<>();
+
+    // The generated bootstrap, and whether it still declares all the plugins
+    private @Nullable String bootstrap = null;
+    private boolean complete = true;
+
+    public PluginProcessor() {
+    }
+
+    // Getters
+
+    @Override
+    public @NotNull SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    // Modules
+
+    @Override
+    public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment round) {
+        if (round.processingOver()) {
+            if (!entries.isEmpty()) try {
+                write();
+            } catch (@NotNull IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write plugin index '" + LOCATION + "': " + e.getMessage());
+            }
+
+            if (bootstrap != null && complete) try {
+                register();
+            } catch (@NotNull IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write plugin bootstrap service '" + PluginBootstrap.LOCATION + "': " + e.getMessage());
+            }
+
+            if (!entries.isEmpty()) try {
+                configure();
+            } catch (@NotNull IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write native image configuration: " + e.getMessage());
+            }
+
+            return false;
+        }
+
+        boolean found = false;
+
+        for (@NotNull Element element : round.getElementsAnnotatedWith(Plugin.class)) {
+            if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "only types can be annotated with @Plugin", element);
+                continue;
+            }
+
+            @NotNull TypeElement type = (TypeElement) element;
+            @NotNull String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+            entries.put(name, line(type));
+            elements.add(type);
+
+            found = true;
+        }
+
+        // Sources generated at the last round aren't processed, so the bootstrap is generated at the first round
+        if (found && bootstrap == null && complete && !"false".equalsIgnoreCase(processingEnv.getOptions().get(BOOTSTRAP_OPTION))) try {
+            generate();
+        } catch (@NotNull IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot generate plugin bootstrap: " + e.getMessage());
+            complete = false;
+        } else if (found && bootstrap != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "plugins generated after the plugin bootstrap, it will not be registered");
+            complete = false;
+        }
+
+        return false;
+    }
+
+    // Utilities
+
+    private void write() throws IOException {
+        // Keep the entries of the previous compilation that still exist (incremental builds)
+        for (@NotNull Map.Entry<String, String> entry : previous().entrySet()) {
+            entries.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+
+        @NotNull FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION, elements.toArray(new Element[0]));
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("# Generated by jplugin, do not edit\n");
+
+            for (@NotNull String line : entries.values()) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Reads the index of the previous compilation (incremental builds), keeping only the classes that still exist
+     * and are still plugins.
+     *
+     * @return the previous index lines by the binary name of the class
+     */
+    private @NotNull Map<String, String> previous() {
+        @NotNull Map<String, String> previous = new LinkedHashMap<>();
+
+        try {
+            @NotNull FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+
+            try (@NotNull BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                @Nullable String line;
+
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+
+                    @NotNull String name = line.split(" ")[0];
+                    @Nullable TypeElement type = processingEnv.getElementUtils().getTypeElement(name.replace('$', '.'));
+
+                    if (type != null && type.getAnnotation(Plugin.class) != null) {
+                        previous.put(name, line);
+                    }
+                }
+            }
+        } catch (@NotNull IOException | @NotNull IllegalArgumentException ignore) {
+            // There's no previous index
+        }
+
+        return previous;
+    }
+
+    /**
+     * @return the plugins of this compilation and the ones of the previous compilation (incremental builds), by their binary names
+     */
+    private @NotNull Map<String, TypeElement> types() {
+        @NotNull Map<String, TypeElement> types = new TreeMap<>();
+
+        for (@NotNull Element element : elements) {
+            types.put(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString(), (TypeElement) element);
+        }
+        for (@NotNull String name : previous().keySet()) {
+            @Nullable TypeElement type = processingEnv.getElementUtils().getTypeElement(name.replace('$', '.'));
+            if (type != null) types.putIfAbsent(name, type);
+        }
+
+        return types;
+    }
+
+    private void generate() throws IOException {
+        @NotNull Map<String, TypeElement> types = types();
+        @Nullable List<TypeElement> order = order(types.values());
+
+        if (order == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "the plugins have cyclic dependencies, the plugin bootstrap will not be generated");
+            complete = false;
+            return;
+        }
+
+        // The bootstrap is generated at the common package of the plugins, unless its name is given
+        @Nullable String name = name(types.keySet(), common(order));
+
+        if (name == null) {
+            complete = false;
+            return;
+        }
+
+        @NotNull String packge = name.substring(0, name.lastIndexOf('.'));
+        @NotNull String simple = name.substring(name.lastIndexOf('.') + 1);
+        @NotNull JavaFileObject file = processingEnv.getFiler().createSourceFile(name, types.values().toArray(new Element[0]));
+
+        try (@NotNull Writer writer = new BufferedWriter(file.openWriter())) {
+            writer.write("package " + packge + ";\n\n");
+            writer.write("/**\n * Generated by jplugin, do not edit.\n */\n");
+            writer.write("public final class " + simple + " extends " + PluginBootstrap.class.getName() + " {\n\n");
+            writer.write("    public " + simple + "() {\n");
+
+            for (@NotNull TypeElement type : order) {
+                writer.write("        " + declaration(type, packge) + "\n");
+            }
+
+            writer.write("    }\n\n}\n");
+        }
+
+        bootstrap = name;
+    }
+    /**
+     * Retrieves the qualified name of the bootstrap: the {@link #BOOTSTRAP_NAME_OPTION} option, or the
+     * {@link #BOOTSTRAP_NAME} followed by the hash of the plugins names at their common package. A bootstrap at the
+     * default package, or declaring plugins of the default package, is reported as an error.
+     *
+     * @param plugins the binary names of the plugins
+     * @param common  the common package of the plugins
+     * @return the qualified name of the bootstrap, or null if it cannot be generated
+     */
+    private @Nullable String name(@NotNull Set<String> plugins, @NotNull String common) {
+        @Nullable String name = processingEnv.getOptions().get(BOOTSTRAP_NAME_OPTION);
+
+        if (plugins.stream().anyMatch(plugin -> !plugin.contains("."))) {
+            // Classes of the default package cannot be referenced from a named package
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "the plugin bootstrap cannot declare plugins of the default package, disable it with -A" + BOOTSTRAP_OPTION + "=false");
+            return null;
+        } else if (name == null) {
+            @NotNull CRC32 hash = new CRC32();
+            hash.update(String.join("\n", plugins).getBytes(StandardCharsets.UTF_8));
+
+            name = (common.isEmpty() ? "" : common + ".") + BOOTSTRAP_NAME + "_" + String.format("%08x", hash.getValue());
+        }
+
+        if (!SourceVersion.isName(name)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "the plugin bootstrap name '" + name + "' isn't a valid qualified class name");
+            return null;
+        } else if (!name.contains(".")) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "the plugins don't have a common package and the plugin bootstrap cannot be generated at the default package, set its qualified name with the -A" + BOOTSTRAP_NAME_OPTION + " option or disable it with -A" + BOOTSTRAP_OPTION + "=false");
+            return null;
+        }
+
+        return name;
+    }
+    private void register() throws IOException {
+        @NotNull FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", PluginBootstrap.LOCATION, elements.toArray(new Element[0]));
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("# Generated by jplugin, do not edit\n");
+            writer.write(bootstrap + "\n");
+        }
+    }
+
+    private void configure() throws IOException {
+        @NotNull Map<String, TypeElement> types = types();
+        @NotNull String packge = common(types.values());
+        @NotNull String directory = "META-INF/native-image/jplugin/" + (packge.isEmpty() ? "default" : packge);
+
+        // Reflection, the plugins with their lifecycle members, the custom initializers and the bootstrap
+        @NotNull Map<String, List<String>> classes = new LinkedHashMap<>();
+
+        for (@NotNull Map.Entry<String, TypeElement> entry : types.entrySet()) {
+            @NotNull List<String> methods = new ArrayList<>();
+
+            for (@NotNull ExecutableElement constructor : ElementFilter.constructorsIn(entry.getValue().getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty()) methods.add(method("<init>", constructor));
+            }
+            for (@NotNull ExecutableElement method : ElementFilter.methodsIn(entry.getValue().getEnclosedElements())) {
+                @NotNull String name = method.getSimpleName().toString();
+
+                if (!method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                } else if ((name.equals("initialize") && method.getParameters().isEmpty()) || (name.equals("interrupt") && method.getParameters().size() <= 1)) {
+                    methods.add(method(name, method));
+                }
+            }
+
+            classes.put(entry.getKey(), methods);
+
+            for (@NotNull AnnotationMirror mirror : mirrors(entry.getValue(), Initializer.class.getName(), null)) {
+                @Nullable TypeElement initializer = element(value(mirror, "type"));
+                if (initializer == null || initializer.getQualifiedName().toString().startsWith("codes.laivy.plugin.")) continue;
+
+                @NotNull List<String> constructors = new ArrayList<>();
+                for (@NotNull ExecutableElement constructor : ElementFilter.constructorsIn(initializer.getEnclosedElements())) {
+                    if (constructor.getParameters().isEmpty()) constructors.add(method("<init>", constructor));
+                }
+
+                classes.putIfAbsent(processingEnv.getElementUtils().getBinaryName(initializer).toString(), constructors);
+            }
+        }
+
+        if (bootstrap != null && complete) {
+            classes.put(bootstrap, Collections.singletonList("{\"name\": \"<init>\", \"parameterTypes\": []}"));
+        }
+
+        @NotNull FileObject reflection = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", directory + "/reflect-config.json", elements.toArray(new Element[0]));
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(reflection.openOutputStream(), StandardCharsets.UTF_8))) {
+            @NotNull StringJoiner array = new StringJoiner(",\n", "[\n", "\n]\n");
+
+            for (@NotNull Map.Entry<String, List<String>> entry : classes.entrySet()) {
+                array.add("  {\n" +
+                        "    \"name\": \"" + entry.getKey() + "\",\n" +
+                        "    \"queryAllDeclaredMethods\": true,\n" +
+                        "    \"methods\": [" + String.join(", ", entry.getValue()) + "]\n" +
+                        "  }");
+            }
+
+            writer.write(array.toString());
+        }
+
+        // Resources, the index and the bootstrap service file
+        @NotNull FileObject resources = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", directory + "/resource-config.json", elements.toArray(new Element[0]));
+
+        try (@NotNull Writer writer = new BufferedWriter(new OutputStreamWriter(resources.openOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("{\n  \"resources\": {\n    \"includes\": [\n");
+            writer.write("      {\"pattern\": \"\\\\Q" + LOCATION + "\\\\E\"}");
+
+            if (bootstrap != null && complete) {
+                writer.write(",\n      {\"pattern\": \"\\\\Q" + PluginBootstrap.LOCATION + "\\\\E\"}");
+            }
+
+            writer.write("\n    ]\n  }\n}\n");
+        }
+    }
+    private @NotNull String method(@NotNull String name, @NotNull ExecutableElement method) {
+        @NotNull StringJoiner parameters = new StringJoiner(", ", "[", "]");
+
+        for (@NotNull VariableElement parameter : method.getParameters()) {
+            parameters.add("\"" + type(processingEnv.getTypeUtils().erasure(parameter.asType())) + "\"");
+        }
+
+        return "{\"name\": \"" + name + "\", \"parameterTypes\": " + parameters + "}";
+    }
+    private @NotNull String type(@NotNull TypeMirror type) {
+        if (type instanceof ArrayType) {
+            return type(((ArrayType) type).getComponentType()) + "[]";
+        } else if (type instanceof DeclaredType) {
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+        }
+
+        return type.toString();
+    }
+
+    /**
+     * @return the longest package that contains all the types, empty if it's the default package
+     */
+    private @NotNull String common(@NotNull Collection<TypeElement> types) {
+        @Nullable String packge = null;
+
+        for (@NotNull TypeElement type : types) {
+            @NotNull String current = pkg(type);
+
+            if (packge == null) {
+                packge = current;
+            } else while (!packge.isEmpty() && !current.equals(packge) && !current.startsWith(packge + ".")) {
+                int separator = packge.lastIndexOf('.');
+                packge = separator < 0 ? "" : packge.substring(0, separator);
+            }
+        }
+
+        return packge != null ? packge : "";
+    }
+
+    /**
+     * Orders the plugins by their dependencies using the Kahn's algorithm, the ready plugins are ordered by priority
+     * (lower first) and then by name, like the finder does at runtime. Dependencies outside the plugins are ignored.
+     *
+     * @param types the plugins
+     * @return the plugins in dependency order, or null if there's a cycle
+     */
+    private @Nullable List<TypeElement> order(@NotNull Collection<TypeElement> types) {
+        @NotNull Map<TypeElement, Integer> remaining = new HashMap<>();
+        @NotNull Map<TypeElement, List<TypeElement>> dependants = new HashMap<>();
+
+        for (@NotNull TypeElement type : types) {
+            int count = 0;
+
+            for (@NotNull TypeElement dependency : dependencies(type)) {
+                if (types.contains(dependency) && !dependency.equals(type)) {
+                    dependants.computeIfAbsent(dependency, k -> new ArrayList<>()).add(type);
+                    count++;
+                }
+            }
+
+            remaining.put(type, count);
+        }
+
+        @NotNull PriorityQueue<TypeElement> ready = new PriorityQueue<>(Comparator.<TypeElement>comparingInt(this::priority).thenComparing(type -> processingEnv.getElementUtils().getBinaryName(type).toString()));
+        @NotNull List<TypeElement> order = new ArrayList<>(types.size());
+
+        for (@NotNull TypeElement type : types) {
+            if (remaining.get(type) == 0) ready.add(type);
+        }
+
+        while (!ready.isEmpty()) {
+            @NotNull TypeElement type = ready.poll();
+            order.add(type);
+
+            for (@NotNull TypeElement dependant : dependants.getOrDefault(type, Collections.emptyList())) {
+                if (remaining.merge(dependant, -1, Integer::sum) == 0) {
+                    ready.add(dependant);
+                }
+            }
+        }
+
+        return order.size() == types.size() ? order : null;
+    }
+
+    private @NotNull String declaration(@NotNull TypeElement type, @NotNull String packge) {
+        @NotNull StringBuilder builder = new StringBuilder("plugin(");
+
+        // Reference and initializer
+        builder.append(literal(type, packge)).append(", ");
+
+        @Nullable TypeElement initializer = null;
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Initializer.class.getName(), null)) {
+            @Nullable TypeElement value = element(value(mirror, "type"));
+            if (value != null) initializer = value;
+        }
+
+        @NotNull String initializerName = initializer != null ? processingEnv.getElementUtils().getBinaryName(initializer).toString() : ConstructorPluginInitializer.class.getName();
+        builder.append(initializer != null ? literal(initializer, packge) : ConstructorPluginInitializer.class.getName() + ".class").append(", ");
+
+        // Name and description
+        @Nullable String name = null;
+        @Nullable String description = null;
+
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Plugin.class.getName(), null)) {
+            @Nullable Object value = value(mirror, "name");
+            if (value != null && !value.toString().isEmpty()) name = value.toString();
+
+            value = value(mirror, "description");
+            if (value != null && !value.toString().isEmpty()) description = value.toString();
+        }
+
+        builder.append(name != null ? processingEnv.getElementUtils().getConstantExpression(name) : "null").append(", ");
+        builder.append(description != null ? processingEnv.getElementUtils().getConstantExpression(description) : "null").append(", ");
+
+        // Categories
+        @NotNull StringJoiner categories = new StringJoiner(", ", "new String[] {", "}");
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Category.class.getName(), Category.Categories.class.getName())) {
+            @Nullable Object value = value(mirror, "value");
+            if (value != null) categories.add(processingEnv.getElementUtils().getConstantExpression(value.toString()));
+        }
+        builder.append(categories).append(", ");
+
+        // Dependencies
+        @NotNull StringJoiner dependencies = new StringJoiner(", ", "new Class<?>[] {", "}");
+        for (@NotNull TypeElement dependency : dependencies(type)) {
+            dependencies.add(literal(dependency, packge));
+        }
+        builder.append(dependencies).append(", ");
+
+        // Instantiator
+        builder.append(instantiator(type, initializerName, packge)).append(");");
+        return builder.toString();
+    }
+    private @NotNull String instantiator(@NotNull TypeElement type, @NotNull String initializer, @NotNull String packge) {
+        if (!isAccessible(type, packge) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "null";
+        } else if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return "null";
+        }
+
+        @NotNull String name = type.getQualifiedName().toString();
+
+        if (initializer.equals(ConstructorPluginInitializer.class.getName())) {
+            for (@NotNull ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty() && isAccessible(constructor, packge)) {
+                    return "() -> new " + name + "()";
+                }
+            }
+        } else if (initializer.equals(MethodPluginInitializer.class.getName())) {
+            for (@NotNull ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (!method.getSimpleName().contentEquals("initialize") || !method.getParameters().isEmpty()) {
+                    continue;
+                } else if (!method.getModifiers().contains(Modifier.STATIC) || !isAccessible(method, packge)) {
+                    return "null";
+                }
+
+                return method.getReturnType().getKind() == TypeKind.VOID ? "() -> { " + name + ".initialize(); return null; }" : "() -> " + name + ".initialize()";
+            }
+        }
+
+        // Not a built-in initializer, or the member isn't accessible
+        return "null";
+    }
+
+    private @NotNull List<TypeElement> dependencies(@NotNull TypeElement type) {
+        @NotNull List<TypeElement> dependencies = new ArrayList<>();
+
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Dependency.class.getName(), Dependency.Dependencies.class.getName())) {
+            @Nullable TypeElement value = element(value(mirror, "type"));
+            if (value != null) dependencies.add(value);
+        }
+
+        return dependencies;
+    }
+    private int priority(@NotNull TypeElement type) {
+        int priority = 0;
+
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Priority.class.getName(), null)) {
+            @Nullable Object value = value(mirror, "value");
+            if (value instanceof Integer) priority = (int) value;
+        }
+
+        return priority;
+    }
+
+    /**
+     * @return the class literal of the type, or a call to {@code type(name)} if the type isn't accessible from the package
+     */
+    private @NotNull String literal(@NotNull TypeElement type, @NotNull String packge) {
+        if (isAccessible(type, packge)) {
+            return type.getQualifiedName() + ".class";
+        }
+
+        return "type(" + processingEnv.getElementUtils().getConstantExpression(processingEnv.getElementUtils().getBinaryName(type).toString()) + ")";
+    }
+    private boolean isAccessible(@NotNull Element element, @NotNull String packge) {
+        for (@Nullable Element current = element; current != null && current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            @NotNull Set<Modifier> modifiers = current.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            } else if (!modifiers.contains(Modifier.PUBLIC) && !pkg(current).equals(packge)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    private @NotNull String pkg(@NotNull Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private @NotNull String line(@NotNull TypeElement type) {
+        @NotNull StringBuilder builder = new StringBuilder(processingEnv.getElementUtils().getBinaryName(type));
+
+        // Initializer
+        @NotNull String initializer = ConstructorPluginInitializer.class.getName();
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Initializer.class.getName(), null)) {
+            @Nullable String value = name(value(mirror, "type"));
+            if (value != null) initializer = value;
+        }
+        attribute(builder, "initializer", initializer);
+
+        // Priority
+        int priority = 0;
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Priority.class.getName(), null)) {
+            @Nullable Object value = value(mirror, "value");
+            if (value instanceof Integer) priority = (int) value;
+        }
+        attribute(builder, "priority", String.valueOf(priority));
+
+        // Categories
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Category.class.getName(), Category.Categories.class.getName())) {
+            @Nullable Object value = value(mirror, "value");
+            if (value != null) attribute(builder, "category", value.toString());
+        }
+
+        // Dependencies
+        for (@NotNull AnnotationMirror mirror : mirrors(type, Dependency.class.getName(), Dependency.Dependencies.class.getName())) {
+            @Nullable String value = name(value(mirror, "type"));
+            if (value != null) attribute(builder, "dependency", value);
+        }
+
+        return builder.toString();
+    }
+
+    private @NotNull List<AnnotationMirror> mirrors(@NotNull TypeElement type, @NotNull String annotation, @Nullable String container) {
+        @NotNull List<AnnotationMirror> mirrors = new LinkedList<>();
+
+        for (@NotNull AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            @NotNull String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+
+            if (name.equals(annotation)) {
+                mirrors.add(mirror);
+            } else if (name.equals(container)) {
+                @Nullable Object value = value(mirror, "value");
+
+                if (value instanceof List) for (@NotNull Object object : (List<?>) value) {
+                    mirrors.add((AnnotationMirror) ((AnnotationValue) object).getValue());
+                }
+            }
+        }
+
+        return mirrors;
+    }
+    private @Nullable Object value(@NotNull AnnotationMirror mirror, @NotNull String name) {
+        for (@NotNull Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+    private @Nullable String name(@Nullable Object value) {
+        if (!(value instanceof DeclaredType)) {
+            return null;
+        }
+
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) value).asElement()).toString();
+    }
+
+    private @Nullable TypeElement element(@Nullable Object value) {
+        return value instanceof DeclaredType ? (TypeElement) ((DeclaredType) value).asElement() : null;
+    }
+
+    private static void attribute(@NotNull StringBuilder builder, @NotNull String key, @NotNull String value) {
+        try {
+            builder.append(' ').append(key).append('=').append(URLEncoder.encode(value, "UTF-8"));
+        } catch (@NotNull UnsupportedEncodingException e) {
+            throw new RuntimeException("cannot encode plugin index value: " + value, e);
+        }
+    }
+
+}
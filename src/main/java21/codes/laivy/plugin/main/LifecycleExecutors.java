@@ -0,0 +1,43 @@
+package codes.laivy.plugin.main;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor used to run the blocking plugin lifecycle work (constructors, initialization and close
+ * methods) when the plugins are started or closed concurrently.
+ * <p>
+ * This is the Java 21 implementation, loaded from the multi-release jar, that runs every task at a new virtual
+ * thread. The Java 8 implementation uses a fork-join pool of platform threads instead.
+ */
+@ApiStatus.Internal
+public final class LifecycleExecutors {
+
+    // Static initializers
+
+    private static final @NotNull ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Plug-ins Lifecycle #", 1).factory());
+
+    /**
+     * @return the shared lifecycle executor
+     */
+    public static @NotNull ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * @return true if the lifecycle work runs at virtual threads
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+
+    // Object
+
+    private LifecycleExecutors() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+}
@@ -0,0 +1,177 @@
+package codes.laivy.plugin;
+
+import codes.laivy.plugin.annotation.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Processor;
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles plugin sources while the tests run, so every test has its own plugin classes, loaded by its own class
+ * loader, and the global factory never sees the same class twice.
+ */
+public final class TestCompiler {
+
+    // Static initializers
+
+    /**
+     * Compiles the sources into the output directory, without annotation processing.
+     *
+     * @param output  the directory of the class files
+     * @param sources the sources by the qualified name of their classes
+     * @return the compilation result
+     */
+    public static @NotNull Result compile(@NotNull Path output, @NotNull Map<String, String> sources) throws IOException {
+        return compile(output, sources, null);
+    }
+
+    /**
+     * Compiles the sources into the output directory. The generated sources and resources are written at the
+     * output directory too.
+     *
+     * @param output    the directory of the class and generated files
+     * @param sources   the sources by the qualified name of their classes
+     * @param processor the annotation processor, or null to compile without annotation processing
+     * @param options   the extra compiler options (e.g. {@code -Ajplugin.bootstrap=false})
+     * @return the compilation result
+     */
+    public static @NotNull Result compile(@NotNull Path output, @NotNull Map<String, String> sources, @Nullable Processor processor, @NotNull String @NotNull ... options) throws IOException {
+        @Nullable JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null) {
+            throw new IllegalStateException("the tests must run at a JDK, there's no system java compiler");
+        }
+
+        Files.createDirectories(output);
+
+        @NotNull DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        @NotNull List<JavaFileObject> units = sources.entrySet().stream().map(entry -> new Source(entry.getKey(), entry.getValue())).collect(Collectors.toList());
+
+        @NotNull List<String> arguments = new ArrayList<>(Arrays.asList("-classpath", getClassPath(), "-d", output.toString(), "-s", output.toString()));
+        if (processor == null) arguments.add("-proc:none");
+        arguments.addAll(Arrays.asList(options));
+
+        try (@NotNull StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            @NotNull JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, arguments, null, units);
+            if (processor != null) task.setProcessors(Collections.singletonList(processor));
+
+            return new Result(output, task.call(), diagnostics.getDiagnostics());
+        }
+    }
+
+    /**
+     * @return the class path of the plugin sources: jplugin, its annotations and the test classes
+     */
+    private static @NotNull String getClassPath() {
+        @NotNull Set<String> paths = new LinkedHashSet<>();
+
+        for (@NotNull Class<?> reference : new Class<?>[] { Plugin.class, NotNull.class, TestCompiler.class }) {
+            try {
+                paths.add(Paths.get(reference.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (@NotNull URISyntaxException e) {
+                throw new IllegalStateException("cannot locate the classes of '" + reference.getName() + "'", e);
+            }
+        }
+
+        return String.join(File.pathSeparator, paths);
+    }
+
+    // Object
+
+    private TestCompiler() {
+        throw new UnsupportedOperationException("this class cannot be instantiated");
+    }
+
+    // Classes
+
+    public static final class Result {
+
+        // Object
+
+        private final @NotNull Path output;
+        private final boolean success;
+        private final @NotNull List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        private Result(@NotNull Path output, boolean success, @NotNull List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+            this.output = output;
+            this.success = success;
+            this.diagnostics = diagnostics;
+        }
+
+        // Getters
+
+        public @NotNull Path getOutput() {
+            return output;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public @NotNull List<Diagnostic<? extends JavaFileObject>> getDiagnostics() {
+            return diagnostics;
+        }
+
+        /**
+         * @param kind the kind of the diagnostics
+         * @return the messages of the diagnostics of that kind
+         */
+        public @NotNull List<String> getMessages(@NotNull Diagnostic.Kind kind) {
+            return diagnostics.stream().filter(diagnostic -> diagnostic.getKind() == kind).map(diagnostic -> diagnostic.getMessage(Locale.ROOT)).collect(Collectors.toList());
+        }
+
+        // Modules
+
+        /**
+         * @return a new class loader of the compiled classes, every call loads them again
+         */
+        public @NotNull URLClassLoader load() throws IOException {
+            return new URLClassLoader(new URL[] { output.toUri().toURL() }, TestCompiler.class.getClassLoader());
+        }
+
+        // Implementations
+
+        @Override
+        public @NotNull String toString() {
+            return "Result{" +
+                    "success=" + success +
+                    ", diagnostics=" + diagnostics +
+                    '}';
+        }
+
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        // Object
+
+        private final @NotNull String code;
+
+        private Source(@NotNull String name, @NotNull String code) {
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        // Getters
+
+        @Override
+        public @NotNull CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+
+    }
+
+}
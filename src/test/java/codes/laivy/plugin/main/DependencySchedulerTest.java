@@ -0,0 +1,124 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo.Builder;
+import codes.laivy.plugin.exception.InvalidPluginException;
+import codes.laivy.plugin.initializer.ConstructorPluginInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class DependencySchedulerTest {
+
+    // Static initializers
+
+    private static @NotNull Builder builder(@NotNull Class<?> reference, int priority, @NotNull Class<?> @NotNull ... dependencies) {
+        return Plugins.getFactory().getInitializer(ConstructorPluginInitializer.class).create(reference, null, null, dependencies, new String[0]).priority(priority);
+    }
+    private static @NotNull List<Class<?>> references(@NotNull List<Builder> builders) {
+        return builders.stream().map(Builder::getReference).collect(Collectors.toList());
+    }
+
+    // Tests
+
+    @Test
+    void dependenciesFirst() {
+        // D -> B -> A, D -> C -> A
+        @NotNull List<Builder> builders = Arrays.asList(builder(D.class, 0, B.class, C.class), builder(C.class, 0, A.class), builder(B.class, 0, A.class), builder(A.class, 0));
+        @NotNull List<Class<?>> order = references(new DependencyScheduler(builders).order());
+
+        assertEquals(4, order.size());
+        assertEquals(A.class, order.get(0));
+        assertEquals(D.class, order.get(3));
+    }
+
+    @Test
+    void lowestPriorityFirst() {
+        @NotNull List<Builder> builders = Arrays.asList(builder(A.class, 5), builder(B.class, 1), builder(C.class, 1, A.class), builder(D.class, 0, B.class));
+
+        // The priority only orders the ready builders, C waits for A even with a lower priority
+        assertEquals(Arrays.asList(B.class, D.class, A.class, C.class), references(new DependencyScheduler(builders).order()));
+    }
+
+    @Test
+    void insertionOrderBetweenEqualPriorities() {
+        @NotNull List<Builder> builders = Arrays.asList(builder(C.class, 0), builder(A.class, 0), builder(B.class, 0));
+        assertEquals(Arrays.asList(C.class, A.class, B.class), references(new DependencyScheduler(builders).order()));
+    }
+
+    @Test
+    void incremental() {
+        @NotNull DependencyScheduler scheduler = new DependencyScheduler();
+
+        // The dependency of B wasn't added yet
+        scheduler.add(builder(B.class, 0, A.class), dependency -> false);
+        assertFalse(scheduler.hasNext());
+
+        scheduler.add(builder(A.class, 0), dependency -> false);
+        assertEquals(A.class, scheduler.next().getReference());
+        assertFalse(scheduler.hasNext());
+
+        scheduler.complete(builder(A.class, 0));
+        assertEquals(B.class, scheduler.next().getReference());
+
+        // Dependencies satisfied outside of the scheduler aren't waited for
+        scheduler.add(builder(C.class, 0, D.class), dependency -> dependency == D.class);
+        assertEquals(C.class, scheduler.next().getReference());
+
+        assertFalse(scheduler.isDone());
+        assertEquals(Arrays.asList(B.class, C.class), references(new ArrayList<>(scheduler.getRemaining())));
+    }
+
+    @Test
+    void cycles() {
+        // A -> B -> C -> A, and D -> E -> D
+        @NotNull List<Builder> builders = Arrays.asList(builder(A.class, 0, B.class), builder(B.class, 0, C.class), builder(C.class, 0, A.class), builder(D.class, 0, E.class), builder(E.class, 0, D.class), builder(F.class, 0, A.class));
+        @NotNull List<List<Class<?>>> cycles = DependencyScheduler.getCycles(builders);
+
+        assertEquals(2, cycles.size(), cycles.toString());
+
+        for (@NotNull List<Class<?>> cycle : cycles) {
+            assertEquals(cycle.get(0), cycle.get(cycle.size() - 1), cycle.toString());
+        }
+
+        @NotNull Set<Set<Class<?>>> members = cycles.stream().map(HashSet::new).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(new HashSet<>(Arrays.asList(A.class, B.class, C.class)), new HashSet<>(Arrays.asList(D.class, E.class)))), members);
+
+        // The report has the exact paths
+        @NotNull InvalidPluginException exception = assertThrows(InvalidPluginException.class, () -> DependencyScheduler.checkCycles(builders));
+
+        for (@NotNull List<Class<?>> cycle : cycles) {
+            @NotNull String path = cycle.stream().map(Class::getName).collect(Collectors.joining(" -> "));
+            assertTrue(exception.getMessage().contains(path), exception.getMessage());
+        }
+
+        assertThrows(IllegalStateException.class, () -> new DependencyScheduler(builders).order());
+    }
+
+    @Test
+    void noCycles() {
+        @NotNull List<Builder> builders = Arrays.asList(builder(A.class, 0), builder(B.class, 0, A.class), builder(C.class, 0, A.class, B.class));
+
+        assertTrue(DependencyScheduler.getCycles(builders).isEmpty());
+        assertDoesNotThrow(() -> DependencyScheduler.checkCycles(builders));
+    }
+
+    // Classes
+
+    private static final class A {
+    }
+    private static final class B {
+    }
+    private static final class C {
+    }
+    private static final class D {
+    }
+    private static final class E {
+    }
+    private static final class F {
+    }
+
+}
@@ -0,0 +1,147 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.TestCompiler;
+import codes.laivy.plugin.factory.PluginFinder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class LoadEquivalenceTest {
+
+    // Static initializers
+
+    private static final @NotNull String PACKAGE = "com.acme.equivalence";
+
+    /**
+     * The fixture graph, the dependencies of every plugin by its simple name.
+     */
+    private static final @NotNull Map<String, List<String>> GRAPH = new LinkedHashMap<>();
+
+    static {
+        GRAPH.put("Base", Collections.emptyList());
+        GRAPH.put("Config", Collections.singletonList("Base"));
+        GRAPH.put("Storage", Collections.singletonList("Base"));
+        GRAPH.put("Service", Arrays.asList("Config", "Storage"));
+        GRAPH.put("Api", Collections.singletonList("Service"));
+        GRAPH.put("Metrics", Collections.singletonList("Config"));
+        GRAPH.put("Standalone", Collections.emptyList());
+        GRAPH.put("Web", Arrays.asList("Api", "Metrics"));
+    }
+
+    private static @NotNull Map<String, String> sources() {
+        @NotNull Map<String, String> sources = new LinkedHashMap<>();
+
+        // Every plugin records its start, the recorder is loaded by the same class loader as the plugins
+        sources.put(PACKAGE + ".Recorder", "package " + PACKAGE + ";\n" +
+                "public final class Recorder {\n" +
+                "    public static final java.util.List<String> STARTED = java.util.Collections.synchronizedList(new java.util.ArrayList<>());\n" +
+                "}\n");
+
+        int priority = GRAPH.size();
+
+        for (@NotNull Map.Entry<String, List<String>> entry : GRAPH.entrySet()) {
+            @NotNull StringBuilder source = new StringBuilder("package " + PACKAGE + ";\n");
+            source.append("@codes.laivy.plugin.annotation.Plugin @codes.laivy.plugin.annotation.Priority(").append(priority--).append(")\n");
+
+            for (@NotNull String dependency : entry.getValue()) {
+                source.append("@codes.laivy.plugin.annotation.Dependency(type = ").append(dependency).append(".class)\n");
+            }
+
+            source.append("public class ").append(entry.getKey()).append(" {\n");
+            source.append("    public ").append(entry.getKey()).append("() { Recorder.STARTED.add(getClass().getSimpleName()); }\n");
+            source.append("}\n");
+
+            sources.put(PACKAGE + "." + entry.getKey(), source.toString());
+        }
+
+        return sources;
+    }
+
+    // Object
+
+    @TempDir
+    private Path directory;
+
+    // Tests
+
+    @Test
+    void equivalence() throws Exception {
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory.resolve("classes"), sources());
+        assertTrue(result.isSuccess(), result.toString());
+
+        @NotNull File plan = directory.resolve("load.plan").toFile();
+
+        @NotNull List<String> sequential = load(result, finder -> finder.load());
+        @NotNull List<String> concurrent = load(result, finder -> finder.setConcurrent(true).load());
+        @NotNull List<String> incremental = load(result, PluginFinder::loadIncrementally);
+
+        // The first load records the plan, the second one, with other class loader, replays it
+        @NotNull List<String> recorded = load(result, finder -> finder.setLoadPlan(plan).load());
+        assertTrue(plan.isFile());
+        assertTrue(plan.setLastModified(0));
+
+        @NotNull List<String> replayed = load(result, finder -> finder.setLoadPlan(plan).load());
+        assertEquals(0L, plan.lastModified(), "the load plan wasn't replayed");
+
+        for (@NotNull List<String> started : Arrays.asList(sequential, concurrent, incremental, recorded, replayed)) {
+            assertEquals(GRAPH.keySet(), new HashSet<>(started), started.toString());
+            assertEquals(GRAPH.size(), started.size(), started.toString());
+
+            // Every dependency starts before its dependants
+            for (@NotNull Map.Entry<String, List<String>> entry : GRAPH.entrySet()) {
+                for (@NotNull String dependency : entry.getValue()) {
+                    assertTrue(started.indexOf(dependency) < started.indexOf(entry.getKey()), started.toString());
+                }
+            }
+        }
+
+        // The orders without concurrency are the same
+        assertEquals(sequential, recorded);
+        assertEquals(sequential, replayed);
+    }
+
+    // Utilities
+
+    /**
+     * Loads the fixtures with a new class loader, then closes them.
+     *
+     * @return the simple names of the plugins, in the order they started
+     */
+    private @NotNull List<String> load(@NotNull TestCompiler.Result result, @NotNull Load load) throws Exception {
+        try (@NotNull URLClassLoader loader = result.load()) {
+            @NotNull PluginFinder finder = Plugins.find().addClassLoader(loader).addPackage(PACKAGE).setShutdownHook(false);
+            @NotNull PluginInfo @NotNull [] plugins = load.load(finder);
+
+            @SuppressWarnings("unchecked")
+            @NotNull List<String> started = new ArrayList<>((List<String>) loader.loadClass(PACKAGE + ".Recorder").getField("STARTED").get(null));
+
+            assertEquals(GRAPH.size(), plugins.length, Arrays.toString(plugins));
+            assertTrue(Arrays.stream(plugins).allMatch(plugin -> plugin.getState() == PluginInfo.State.RUNNING), Arrays.toString(plugins));
+            assertEquals(new HashSet<>(started), Arrays.stream(plugins).map(plugin -> plugin.getReference().getSimpleName()).collect(Collectors.toSet()));
+
+            // Close the dependants first
+            for (int index = started.size() - 1; index >= 0; index--) {
+                Plugins.retrieve(loader.loadClass(PACKAGE + "." + started.get(index))).close();
+            }
+
+            return started;
+        }
+    }
+
+    // Classes
+
+    @FunctionalInterface
+    private interface Load {
+        @NotNull PluginInfo @NotNull [] load(@NotNull PluginFinder finder) throws Exception;
+    }
+
+}
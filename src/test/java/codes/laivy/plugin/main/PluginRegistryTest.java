@@ -0,0 +1,217 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.TestCompiler;
+import codes.laivy.plugin.category.PluginCategory;
+import codes.laivy.plugin.exception.InvalidPluginException;
+import codes.laivy.plugin.initializer.ConstructorPluginInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PluginRegistryTest {
+
+    // Static initializers
+
+    private static final int THREADS = 8;
+    private static final int PLUGINS = 200;
+
+    private static @NotNull PluginInfo plugin(@NotNull Class<?> reference, @Nullable String name, @NotNull String @NotNull ... categories) {
+        return Plugins.getFactory().getInitializer(ConstructorPluginInitializer.class).create(reference, name, null, new Class<?>[0], categories).build();
+    }
+
+    /**
+     * Runs the task at every thread at the same time, and waits for all of them.
+     *
+     * @param task the task, receiving the index of the thread
+     */
+    private static void concurrently(@NotNull Task task) throws Exception {
+        @NotNull ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        @NotNull CountDownLatch gate = new CountDownLatch(1);
+
+        try {
+            @NotNull List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+
+                futures.add(executor.submit(() -> {
+                    gate.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+
+            gate.countDown();
+
+            for (@NotNull Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Object
+
+    @TempDir
+    private Path directory;
+
+    // Tests
+
+    @Test
+    void concurrentPut() throws Exception {
+        @NotNull PluginRegistry registry = new PluginRegistry();
+        @NotNull PluginCategory even = Plugins.getFactory().getCategory("Registry Even");
+        @NotNull PluginCategory odd = Plugins.getFactory().getCategory("Registry Odd");
+
+        try (@NotNull URLClassLoader loader = classes("com.acme.registry.put", PLUGINS)) {
+            @NotNull AtomicBoolean running = new AtomicBoolean(true);
+            @NotNull AtomicInteger reads = new AtomicInteger();
+
+            // Readers iterate while the writers register
+            @NotNull Thread reader = new Thread(() -> {
+                int size = 0;
+
+                while (running.get()) {
+                    @NotNull List<PluginInfo> values = registry.values();
+                    assertTrue(values.size() >= size, "the registry shrank");
+                    size = values.size();
+
+                    for (@NotNull PluginInfo plugin : registry) {
+                        assertSame(plugin, registry.get(plugin.getReference()));
+                    }
+                    for (@NotNull PluginInfo plugin : registry.getPlugins(even)) {
+                        assertTrue(plugin.getCategories().contains(even));
+                    }
+
+                    reads.incrementAndGet();
+                }
+            });
+            @NotNull Throwable @NotNull [] failure = new Throwable[1];
+            reader.setUncaughtExceptionHandler((thread, throwable) -> failure[0] = throwable);
+            reader.start();
+
+            concurrently(thread -> {
+                for (int index = thread; index < PLUGINS; index += THREADS) {
+                    @NotNull Class<?> reference = loader.loadClass("com.acme.registry.put.Plugin" + index);
+                    registry.put(reference, plugin(reference, "Registry Plugin " + index, (index % 2 == 0 ? even : odd).getName()));
+                }
+            });
+
+            running.set(false);
+            reader.join();
+
+            assertNull(failure[0], String.valueOf(failure[0]));
+            assertTrue(reads.get() > 0);
+
+            // Every plugin is registered once, by its class and by its name, at its category
+            assertEquals(PLUGINS, registry.size());
+            assertEquals(PLUGINS, registry.values().size());
+            assertEquals(PLUGINS, new HashSet<>(registry.values()).size());
+
+            for (int index = 0; index < PLUGINS; index++) {
+                @Nullable PluginInfo plugin = registry.get("Registry Plugin " + index);
+
+                assertNotNull(plugin);
+                assertEquals("com.acme.registry.put.Plugin" + index, plugin.getReference().getName());
+                assertSame(plugin, registry.get(plugin.getReference()));
+            }
+
+            assertEquals(PLUGINS / 2, registry.getPlugins(even).size());
+            assertEquals(PLUGINS / 2, registry.getPlugins(odd).size());
+        }
+    }
+
+    @Test
+    void concurrentDuplicateName() throws Exception {
+        @NotNull PluginRegistry registry = new PluginRegistry();
+        @NotNull AtomicInteger successes = new AtomicInteger();
+        @NotNull AtomicInteger failures = new AtomicInteger();
+
+        try (@NotNull URLClassLoader loader = classes("com.acme.registry.duplicate", THREADS)) {
+            concurrently(thread -> {
+                @NotNull Class<?> reference = loader.loadClass("com.acme.registry.duplicate.Plugin" + thread);
+
+                try {
+                    registry.put(reference, plugin(reference, "Registry Duplicate"));
+                    successes.incrementAndGet();
+                } catch (@NotNull InvalidPluginException ignore) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+
+        assertEquals(1, successes.get());
+        assertEquals(THREADS - 1, failures.get());
+        assertEquals(1, registry.size());
+        assertNotNull(registry.get("Registry Duplicate"));
+    }
+
+    @Test
+    void concurrentCategorize() throws Exception {
+        @NotNull PluginRegistry registry = new PluginRegistry();
+        @NotNull PluginCategory category = Plugins.getFactory().getCategory("Registry Tagged");
+        @NotNull List<PluginInfo> plugins = new ArrayList<>();
+
+        try (@NotNull URLClassLoader loader = classes("com.acme.registry.categorize", PLUGINS + 1)) {
+            for (int index = 0; index < PLUGINS; index++) {
+                @NotNull Class<?> reference = loader.loadClass("com.acme.registry.categorize.Plugin" + index);
+                @NotNull PluginInfo plugin = plugin(reference, null);
+
+                registry.put(reference, plugin);
+                plugins.add(plugin);
+            }
+
+            // Every thread adds, removes and adds its plugins again
+            concurrently(thread -> {
+                for (int round = 0; round < 3; round++) {
+                    for (int index = thread; index < PLUGINS; index += THREADS) {
+                        registry.categorize(plugins.get(index), category, round != 1);
+                    }
+                }
+            });
+
+            assertEquals(new HashSet<>(plugins), new HashSet<>(registry.getPlugins(category)));
+
+            // Plugins that aren't registered are ignored
+            @NotNull Class<?> reference = loader.loadClass("com.acme.registry.categorize.Plugin" + PLUGINS);
+            registry.categorize(plugin(reference, null), category, true);
+
+            assertEquals(PLUGINS, registry.getPlugins(category).size());
+        }
+    }
+
+    // Utilities
+
+    private @NotNull URLClassLoader classes(@NotNull String pkg, int amount) throws Exception {
+        @NotNull Map<String, String> sources = new LinkedHashMap<>();
+
+        for (int index = 0; index < amount; index++) {
+            sources.put(pkg + ".Plugin" + index, "package " + pkg + ";\npublic class Plugin" + index + " { }\n");
+        }
+
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory.resolve(pkg), sources);
+        assertTrue(result.isSuccess(), result.toString());
+
+        return result.load();
+    }
+
+    // Classes
+
+    @FunctionalInterface
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+}
@@ -0,0 +1,120 @@
+package codes.laivy.plugin.main;
+
+import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.TestCompiler;
+import codes.laivy.plugin.exception.PluginInitializeException;
+import codes.laivy.plugin.factory.PluginFinder;
+import codes.laivy.plugin.factory.PluginFinder.TimeoutPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TimeoutPolicyTest {
+
+    // Static initializers
+
+    /**
+     * @param pkg the package of the fixtures, unique per test because the factory is global
+     * @return a plugin exceeding its start timeout, a plugin depending on it and an independent one
+     */
+    private static @NotNull Map<String, String> sources(@NotNull String pkg) {
+        @NotNull Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(pkg + ".Slow", "package " + pkg + ";\n" +
+                "@codes.laivy.plugin.annotation.Plugin @codes.laivy.plugin.annotation.Timeout(start = 100)\n" +
+                "public class Slow { public Slow() throws Exception { Thread.sleep(10_000); } }\n");
+        sources.put(pkg + ".After", "package " + pkg + ";\n" +
+                "@codes.laivy.plugin.annotation.Plugin @codes.laivy.plugin.annotation.Dependency(type = Slow.class)\n" +
+                "public class After { }\n");
+        sources.put(pkg + ".Fast", "package " + pkg + ";\n" +
+                "@codes.laivy.plugin.annotation.Plugin\n" +
+                "public class Fast { }\n");
+
+        return sources;
+    }
+
+    private static void close(@NotNull PluginInfo @NotNull [] plugins) throws Exception {
+        for (int index = plugins.length - 1; index >= 0; index--) {
+            plugins[index].close();
+        }
+    }
+
+    // Object
+
+    @TempDir
+    private Path directory;
+
+    // Tests
+
+    @Test
+    void continueSequential() throws Exception {
+        proceed("com.acme.timeout.sequential", false);
+    }
+
+    @Test
+    void continueConcurrent() throws Exception {
+        proceed("com.acme.timeout.concurrent", true);
+    }
+
+    @Test
+    void abort() throws Exception {
+        @NotNull String pkg = "com.acme.timeout.abort";
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources(pkg));
+        assertTrue(result.isSuccess(), result.toString());
+
+        try (@NotNull URLClassLoader loader = result.load()) {
+            @NotNull PluginFinder finder = Plugins.find().addClassLoader(loader).addPackage(pkg).setShutdownHook(false).setTimeoutPolicy(TimeoutPolicy.ABORT);
+            @NotNull PluginInitializeException exception = assertThrows(PluginInitializeException.class, finder::load);
+
+            assertTrue(exception.getCause() instanceof TimeoutException, String.valueOf(exception.getCause()));
+            assertEquals(loader.loadClass(pkg + ".Slow"), exception.getPlugin());
+        }
+    }
+
+    // Utilities
+
+    private void proceed(@NotNull String pkg, boolean concurrent) throws Exception {
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources(pkg));
+        assertTrue(result.isSuccess(), result.toString());
+
+        try (@NotNull URLClassLoader loader = result.load()) {
+            @NotNull Class<?> slow = loader.loadClass(pkg + ".Slow");
+            @NotNull Class<?> after = loader.loadClass(pkg + ".After");
+            @NotNull Class<?> fast = loader.loadClass(pkg + ".Fast");
+
+            @NotNull CompletableFuture<PluginInfo> awaiting = Plugins.getFactory().await(after);
+
+            @NotNull PluginFinder finder = Plugins.find().addClassLoader(loader).addPackage(pkg).setShutdownHook(false).setConcurrent(concurrent).setTimeoutPolicy(TimeoutPolicy.CONTINUE);
+            @NotNull PluginInfo @NotNull [] plugins = finder.load();
+
+            try {
+                assertEquals(PluginInfo.State.FAILED, Plugins.retrieve(slow).getState());
+                assertEquals(PluginInfo.State.RUNNING, Plugins.retrieve(fast).getState());
+                assertFalse(Arrays.stream(plugins).anyMatch(plugin -> plugin.getReference() == after));
+
+                // Both the timed out plugin and its dependant are reported
+                @NotNull Map<Class<?>, String> skipped = finder.getStartupReport().getSkipped();
+                assertEquals(new HashSet<>(Arrays.asList(slow, after)), skipped.keySet(), skipped.toString());
+
+                // Awaiting a skipped plugin fails, before and after the load
+                @NotNull ExecutionException exception = assertThrows(ExecutionException.class, () -> awaiting.get(5, TimeUnit.SECONDS));
+                assertTrue(exception.getCause() instanceof PluginInitializeException, String.valueOf(exception.getCause()));
+
+                exception = assertThrows(ExecutionException.class, () -> Plugins.getFactory().await(after).get(5, TimeUnit.SECONDS));
+                assertTrue(exception.getCause() instanceof PluginInitializeException, String.valueOf(exception.getCause()));
+            } finally {
+                close(plugins);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package codes.laivy.plugin.processor;
+
+import codes.laivy.plugin.PluginBootstrap;
+import codes.laivy.plugin.PluginInfo;
+import codes.laivy.plugin.TestCompiler;
+import codes.laivy.plugin.main.Plugins;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PluginProcessorTest {
+
+    // Static initializers
+
+    private static final @NotNull Pattern BOOTSTRAP = Pattern.compile("com\\.acme\\.processor\\.GeneratedPluginBootstrap_[0-9a-f]{8}");
+
+    private static @NotNull Map<String, String> sources() {
+        @NotNull Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("com.acme.processor.Main", "package com.acme.processor;\n" +
+                "@codes.laivy.plugin.annotation.Plugin(name = \"Processor Main\")\n" +
+                "@codes.laivy.plugin.annotation.Category(\"Utility\")\n" +
+                "@codes.laivy.plugin.annotation.Dependency(type = com.acme.processor.core.Core.class)\n" +
+                "public class Main { }\n");
+        sources.put("com.acme.processor.core.Core", "package com.acme.processor.core;\n" +
+                "@codes.laivy.plugin.annotation.Plugin(name = \"Processor Core\")\n" +
+                "@codes.laivy.plugin.annotation.Priority(3)\n" +
+                "public class Core { }\n");
+
+        return sources;
+    }
+
+    private static @NotNull String read(@NotNull Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+    private static @NotNull List<String> lines(@NotNull Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream().filter(line -> !line.isEmpty() && !line.startsWith("#")).collect(Collectors.toList());
+    }
+
+    // Object
+
+    @TempDir
+    private Path directory;
+
+    // Tests
+
+    @Test
+    void index() throws IOException {
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources(), new PluginProcessor());
+        assertTrue(result.isSuccess(), result.toString());
+
+        @NotNull List<String> index = lines(directory.resolve(PluginProcessor.LOCATION));
+        assertEquals(2, index.size(), index.toString());
+
+        // Sorted by the class names
+        assertEquals("com.acme.processor.Main initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer priority=0 category=Utility dependency=com.acme.processor.core.Core", index.get(0));
+        assertEquals("com.acme.processor.core.Core initializer=codes.laivy.plugin.initializer.ConstructorPluginInitializer priority=3", index.get(1));
+    }
+
+    @Test
+    void bootstrap() throws Exception {
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources(), new PluginProcessor());
+        assertTrue(result.isSuccess(), result.toString());
+
+        // Registered with a unique name at the common package of the plugins
+        @NotNull List<String> services = lines(directory.resolve(PluginBootstrap.LOCATION));
+        assertEquals(1, services.size(), services.toString());
+        assertTrue(BOOTSTRAP.matcher(services.get(0)).matches(), services.get(0));
+
+        // The dependencies are declared first
+        @NotNull String source = read(directory.resolve(services.get(0).replace('.', '/') + ".java"));
+        int core = source.indexOf("plugin(com.acme.processor.core.Core.class");
+        int main = source.indexOf("plugin(com.acme.processor.Main.class");
+
+        assertTrue(core >= 0 && main >= 0, source);
+        assertTrue(core < main, source);
+
+        // The finder creates the plugins from the bootstrap
+        try (@NotNull URLClassLoader loader = result.load()) {
+            @NotNull PluginInfo @NotNull [] plugins = Plugins.find().addClassLoader(loader).addPackage("com.acme.processor").setShutdownHook(false).load();
+
+            assertEquals(Arrays.asList("com.acme.processor.core.Core", "com.acme.processor.Main"), Arrays.stream(plugins).map(plugin -> plugin.getReference().getName()).collect(Collectors.toList()));
+            assertTrue(Arrays.stream(plugins).allMatch(plugin -> plugin.getState() == PluginInfo.State.RUNNING));
+
+            for (int index = plugins.length - 1; index >= 0; index--) {
+                plugins[index].close();
+            }
+        }
+    }
+
+    @Test
+    void bootstrapNames() throws IOException {
+        @NotNull Map<String, String> sources = sources();
+        assertTrue(TestCompiler.compile(directory.resolve("first"), sources, new PluginProcessor()).isSuccess());
+
+        sources.put("com.acme.processor.Other", "package com.acme.processor;\n" +
+                "@codes.laivy.plugin.annotation.Plugin\n" +
+                "public class Other { }\n");
+        assertTrue(TestCompiler.compile(directory.resolve("second"), sources, new PluginProcessor()).isSuccess());
+        assertTrue(TestCompiler.compile(directory.resolve("named"), sources, new PluginProcessor(), "-A" + PluginProcessor.BOOTSTRAP_NAME_OPTION + "=com.acme.Bootstrap").isSuccess());
+
+        // Artifacts sharing a package generate different bootstraps, unless the name is given
+        @NotNull String first = lines(directory.resolve("first").resolve(PluginBootstrap.LOCATION)).get(0);
+        @NotNull String second = lines(directory.resolve("second").resolve(PluginBootstrap.LOCATION)).get(0);
+
+        assertTrue(BOOTSTRAP.matcher(second).matches(), second);
+        assertNotEquals(first, second);
+        assertEquals(Collections.singletonList("com.acme.Bootstrap"), lines(directory.resolve("named").resolve(PluginBootstrap.LOCATION)));
+    }
+
+    @Test
+    void defaultPackage() throws IOException {
+        @NotNull Map<String, String> sources = Collections.singletonMap("Unnamed", "@codes.laivy.plugin.annotation.Plugin\npublic class Unnamed { }\n");
+
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory.resolve("enabled"), sources, new PluginProcessor());
+        assertFalse(result.isSuccess());
+        assertTrue(result.getMessages(Diagnostic.Kind.ERROR).stream().anyMatch(message -> message.contains("default package")), result.toString());
+
+        // Still indexed without the bootstrap
+        result = TestCompiler.compile(directory.resolve("disabled"), sources, new PluginProcessor(), "-A" + PluginProcessor.BOOTSTRAP_OPTION + "=false");
+        assertTrue(result.isSuccess(), result.toString());
+        assertEquals(1, lines(directory.resolve("disabled").resolve(PluginProcessor.LOCATION)).size());
+        assertFalse(Files.exists(directory.resolve("disabled").resolve(PluginBootstrap.LOCATION)));
+    }
+
+    @Test
+    void cycle() throws IOException {
+        @NotNull Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("com.acme.processor.cycle.First", "package com.acme.processor.cycle;\n" +
+                "@codes.laivy.plugin.annotation.Plugin @codes.laivy.plugin.annotation.Dependency(type = Second.class)\n" +
+                "public class First { }\n");
+        sources.put("com.acme.processor.cycle.Second", "package com.acme.processor.cycle;\n" +
+                "@codes.laivy.plugin.annotation.Plugin @codes.laivy.plugin.annotation.Dependency(type = First.class)\n" +
+                "public class Second { }\n");
+
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources, new PluginProcessor());
+
+        assertTrue(result.isSuccess(), result.toString());
+        assertTrue(result.getMessages(Diagnostic.Kind.WARNING).stream().anyMatch(message -> message.contains("cyclic dependencies")), result.toString());
+        assertFalse(Files.exists(directory.resolve(PluginBootstrap.LOCATION)));
+    }
+
+    @Test
+    void nativeImage() throws IOException {
+        @NotNull TestCompiler.Result result = TestCompiler.compile(directory, sources(), new PluginProcessor());
+        assertTrue(result.isSuccess(), result.toString());
+
+        @NotNull Path configuration = directory.resolve("META-INF/native-image/jplugin/com.acme.processor");
+        @NotNull String reflection = read(configuration.resolve("reflect-config.json"));
+        @NotNull String resources = read(configuration.resolve("resource-config.json"));
+        @NotNull String bootstrap = lines(directory.resolve(PluginBootstrap.LOCATION)).get(0);
+
+        assertTrue(reflection.contains("\"name\": \"com.acme.processor.Main\""), reflection);
+        assertTrue(reflection.contains("\"name\": \"com.acme.processor.core.Core\""), reflection);
+        assertTrue(reflection.contains("\"name\": \"" + bootstrap + "\""), reflection);
+        assertTrue(reflection.contains("{\"name\": \"<init>\", \"parameterTypes\": []}"), reflection);
+
+        assertTrue(resources.contains(PluginProcessor.LOCATION), resources);
+        assertTrue(resources.contains(PluginBootstrap.LOCATION), resources);
+    }
+
+}